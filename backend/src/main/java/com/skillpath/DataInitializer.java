@@ -2,8 +2,11 @@ package com.skillpath;
 
 import com.skillpath.model.User;
 import com.skillpath.repository.UserRepository;
+import com.skillpath.service.AvailabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -11,7 +14,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Component
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
 
     @Autowired
     UserRepository userRepository;
@@ -19,8 +22,13 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     PasswordEncoder encoder;
 
-    @Override
-    public void run(String... args) throws Exception {
+    @Autowired
+    AvailabilityService availabilityService;
+
+    // Runs in the background once the app is up; a CommandLineRunner would hold back startup
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedAdminUser() {
         // Check if admin exists to avoid duplicates
         if (!userRepository.existsByUsername("admin")) {
             // Create the admin user
@@ -33,6 +41,7 @@ public class DataInitializer implements CommandLineRunner {
             admin.setRoles(roles);
             
             userRepository.save(admin);
+            availabilityService.addUser(admin.getUsername(), admin.getEmail());
             
             System.out.println("==========================================");
             System.out.println("ADMIN USER CREATED SUCCESSFULLY");
@@ -0,0 +1,48 @@
+package com.skillpath.config;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.websocket.cluster.ClusterRelay;
+import com.skillpath.websocket.cluster.LoopbackClusterRelay;
+import com.skillpath.websocket.cluster.PostgresNotifyClusterRelay;
+
+/**
+ * Selects the relay used to fan out user-destination messages across nodes.
+ * {@code app.wsClusterRelay=loopback} (default) keeps everything in-process;
+ * {@code postgres} uses LISTEN/NOTIFY so N nodes can run behind a plain load balancer.
+ */
+@Configuration
+public class ClusterRelayConfig {
+
+    @Value("${app.wsClusterNodeId:}")
+    private String nodeId;
+
+    private String resolveNodeId() {
+        return StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.wsClusterRelay", havingValue = "loopback", matchIfMissing = true)
+    public ClusterRelay loopbackClusterRelay() {
+        return new LoopbackClusterRelay(resolveNodeId());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.wsClusterRelay", havingValue = "postgres")
+    public ClusterRelay postgresClusterRelay(DataSource dataSource, ObjectMapper objectMapper,
+                                             @Value("${spring.datasource.url}") String url,
+                                             @Value("${spring.datasource.username}") String username,
+                                             @Value("${spring.datasource.password}") String password,
+                                             @Value("${app.wsClusterPollMs:500}") long pollMs) {
+        return new PostgresNotifyClusterRelay(resolveNodeId(), dataSource, objectMapper, url, username, password, pollMs);
+    }
+}
@@ -0,0 +1,88 @@
+package com.skillpath.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import com.skillpath.datasource.ReadWriteRoutingDataSource;
+import com.skillpath.datasource.ReadYourWrites;
+import com.skillpath.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to the read replicas in
+ * {@code app.datasourceReplicaUrls} (comma separated) and everything else to
+ * the primary. With no replicas configured the primary pool is used as is.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    // Static for the same reason as the query-counting post-processor. Declared with
+    // its own type so the container sees it is Ordered before instantiating it
+    @Bean
+    public static ReadReplicaPostProcessor readReplicaDataSourcePostProcessor(Environment environment,
+                                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReadReplicaPostProcessor(environment, meterRegistry);
+    }
+
+    // Spring's default holds the first connection for the whole request under
+    // open-in-view, so a read-only lookup would pin later writes to a replica
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction(
+            @Value("${app.datasourceReplicaUrls:}") String replicaUrls) {
+        return properties -> {
+            if (StringUtils.hasText(replicaUrls)) {
+                properties.put(AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            }
+        };
+    }
+
+    // Runs before the query-counting post-processor, which then wraps the routing
+    // DataSource and counts replica reads too
+    static class ReadReplicaPostProcessor implements BeanPostProcessor, Ordered {
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<String> replicaUrls;
+
+        ReadReplicaPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+            this.replicaUrls = Arrays.stream(environment.getProperty("app.datasourceReplicaUrls", "").split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .toList();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (replicaUrls.isEmpty() || !(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            ReadYourWrites readYourWrites = new ReadYourWrites(environment.getProperty("app.datasourceStickyMs", Long.class, 2000L));
+            ReplicaPool replicaPool = new ReplicaPool(primary, replicaUrls,
+                    environment.getProperty("app.datasourceReplicaTimeoutMs", Long.class, 1000L),
+                    environment.getProperty("app.datasourceReplicaCheckMs", Long.class, 5000L),
+                    readYourWrites, meterRegistry);
+            return new ReadWriteRoutingDataSource(primary, replicaPool, readYourWrites);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.skillpath.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.tutor.GeminiTutorModelClient;
+import com.skillpath.tutor.StubTutorModelClient;
+import com.skillpath.tutor.TutorModelClient;
+
+/**
+ * Selects the model behind the AI tutor. {@code app.tutorModel=stub} (default)
+ * answers locally and deterministically; {@code gemini} calls the Gemini API
+ * with {@code app.tutorGeminiApiKey}. Chosen when the bean is created rather
+ * than with {@code @ConditionalOnProperty}, so AOT builds can still switch it.
+ */
+@Configuration
+public class TutorConfig {
+
+    @Bean
+    public TutorModelClient tutorModelClient(ObjectMapper objectMapper,
+                                             @Value("${app.tutorModel:stub}") String model,
+                                             @Value("${app.tutorStubTokenDelayMs:30}") long stubTokenDelayMs,
+                                             @Value("${app.tutorGeminiBaseUrl:https://generativelanguage.googleapis.com}") String geminiBaseUrl,
+                                             @Value("${app.tutorGeminiModel:gemini-3-flash-preview}") String geminiModel,
+                                             @Value("${app.tutorGeminiApiKey:}") String geminiApiKey,
+                                             @Value("${app.tutorStreamTimeoutMs:120000}") long timeoutMs) {
+        switch (model) {
+            case "stub":
+                return new StubTutorModelClient(stubTokenDelayMs);
+            case "gemini":
+                if (!StringUtils.hasText(geminiApiKey)) {
+                    throw new IllegalStateException("app.tutorModel=gemini needs app.tutorGeminiApiKey");
+                }
+                return new GeminiTutorModelClient(objectMapper, geminiBaseUrl, geminiModel, geminiApiKey,
+                        Duration.ofMillis(timeoutMs));
+            default:
+                throw new IllegalStateException("Unknown app.tutorModel: " + model);
+        }
+    }
+}
@@ -1,24 +1,44 @@
 package com.skillpath.config;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.HandshakeInterceptor;
 
+import com.skillpath.instrumentation.QueryMetrics;
+import com.skillpath.instrumentation.QueryMetricsChannelInterceptor;
 import com.skillpath.security.jwt.JwtUtils;
 import com.skillpath.security.services.UserDetailsServiceImpl;
+import com.skillpath.websocket.CborMessageConverter;
+import com.skillpath.websocket.SlowConsumerMonitor;
+import com.skillpath.websocket.WebSocketSessionRegistry;
+import io.jsonwebtoken.Claims;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -30,6 +50,46 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private SlowConsumerMonitor slowConsumerMonitor;
+
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    // Requires a Java 21+ runtime
+    @Value("${app.wsVirtualThreads:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.wsInboundCorePoolSize:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.wsInboundMaxPoolSize:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.wsInboundQueueCapacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.wsOutboundCorePoolSize:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.wsOutboundMaxPoolSize:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.wsOutboundQueueCapacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.wsSendTimeLimitMs:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.wsSendBufferSizeLimit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.wsMessageSizeLimit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/queue");
@@ -40,11 +100,55 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOrigins("*").withSockJS();
+        // Plain WebSocket endpoint for clients that do not need SockJS fallbacks
+        registry.addEndpoint("/ws-native").setAllowedOrigins("*").addInterceptors(new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                           WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                // Only native sessions can receive binary frames
+                attributes.put(WebSocketSessionRegistry.NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Exception exception) {
+            }
+        });
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Added ahead of the defaults, which stay registered for JSON
+        messageConverters.add(new CborMessageConverter());
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Sessions that exceed either limit are closed by Spring's ConcurrentWebSocketSessionDecorator
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerMonitor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(slowConsumerMonitor, sessionRegistry.outboundCounter());
+        registration.taskExecutor(channelExecutor("ws-outbound-"))
+                .corePoolSize(virtualThreads ? outboundMaxPoolSize : outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(new ChannelInterceptor() {
+        registration.taskExecutor(channelExecutor("ws-inbound-"))
+                .corePoolSize(virtualThreads ? inboundMaxPoolSize : inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+        registration.interceptors(sessionRegistry.inboundCounter(), new QueryMetricsChannelInterceptor(queryMetrics), new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
                 StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -52,12 +156,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     String authHeader = accessor.getFirstNativeHeader("Authorization");
                     if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
                         String jwt = authHeader.substring(7);
-                        if (jwtUtils.validateJwtToken(jwt)) {
-                            String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                            UsernamePasswordAuthenticationToken authentication =
-                                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                            accessor.setUser(authentication);
+                        Claims claims = jwtUtils.parseVerifiedClaims(jwt);
+                        if (claims != null) {
+                            accessor.setUser(authenticationFromClaims(claims));
                         }
                     }
                 }
@@ -65,4 +166,31 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             }
         });
     }
+
+    /**
+     * Builds the session principal from the verified token alone so a reconnect
+     * storm does not turn into a storm of user lookups. Tokens issued before roles
+     * were embedded fall back to loading the user.
+     */
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(Claims claims) {
+        List<String> roles = jwtUtils.getRolesFromClaims(claims);
+        if (roles.isEmpty()) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        }
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+    }
+
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        // Virtual threads are cheap to keep, so the pool runs at its max size (see the registrations)
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        return executor;
+    }
 }
\ No newline at end of file
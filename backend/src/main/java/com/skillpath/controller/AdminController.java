@@ -0,0 +1,217 @@
+package com.skillpath.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.instrumentation.QueryBudget;
+import com.skillpath.service.AdminUserService;
+import com.skillpath.service.AdminUserService.UserSummary;
+import com.skillpath.service.UserImportService;
+import com.skillpath.service.UserImportService.ImportProgress;
+import com.skillpath.websocket.WebSocketSessionRegistry;
+import com.skillpath.websocket.cluster.ClusterUserRegistry;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    WebSocketSessionRegistry sessionRegistry;
+
+    @Autowired
+    ClusterUserRegistry clusterUserRegistry;
+
+    @Autowired
+    AdminUserService adminUserService;
+
+    @Autowired
+    UserImportService userImportService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    // Token user + roles in the filter, then one statement for the page however deep
+    @QueryBudget(3)
+    @GetMapping("/users")
+    public ResponseEntity<?> listUsers(@RequestParam(name = "after", defaultValue = "0") long afterId,
+                                       @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<UserSummary> users = adminUserService.listUsers(afterId, pageSize);
+        Long nextAfter = users.size() == pageSize ? users.get(users.size() - 1).getId() : null;
+        return ResponseEntity.ok(new UserPage(users, nextAfter));
+    }
+
+    // Written on the request thread: an async StreamingResponseBody would be cut off by the async request timeout
+    @GetMapping("/users/export")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        long exported = adminUserService.exportUsers(response.getOutputStream());
+        logger.info("Exported {} users", exported);
+    }
+
+    /**
+     * Imports users from a {@code text/csv} or {@code application/x-ndjson} body.
+     * The response is NDJSON written as the upload is read: an {@code error}
+     * line per rejected row, a {@code progress} line per chunk and a final
+     * {@code done} line with the totals, or a {@code failed} line with the
+     * totals so far if the import stops partway. Only a bad CSV header is
+     * rejected with a 400, since it is checked before the first line is written.
+     */
+    @PostMapping("/users/import")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String contentType = request.getContentType() != null ? request.getContentType() : "";
+        UserImportService.Format format;
+        if (contentType.startsWith("text/csv")) {
+            format = UserImportService.Format.CSV;
+        } else if (contentType.startsWith("application/x-ndjson")) {
+            format = UserImportService.Format.NDJSON;
+        } else {
+            format = null;
+        }
+        request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        generator.setRootValueSeparator(null);
+        if (format == null) {
+            response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+            writeLine(generator, "failed", "error", "Expected text/csv or application/x-ndjson");
+            generator.close();
+            return;
+        }
+        try (BufferedReader reader = request.getReader()) {
+            UserImportService.Upload upload;
+            try {
+                upload = userImportService.open(reader, format);
+            } catch (IllegalArgumentException e) {
+                // Bad or missing header, found before anything is written
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                writeLine(generator, "failed", "error", e.getMessage());
+                generator.close();
+                return;
+            }
+            ImportProgress progress;
+            try {
+                progress = userImportService.importUsers(upload, new UserImportService.ImportListener() {
+                    @Override
+                    public void rowFailed(long line, String error) {
+                        writeLine(generator, "error", "line", line, "error", error);
+                    }
+
+                    @Override
+                    public void chunkDone(ImportProgress progress) {
+                        writeProgress(generator, "progress", progress);
+                        flush(generator);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                // Progress lines may already be sent, so the status can no longer change: end the stream instead
+                progress = upload.getProgress();
+                logger.warn("Import stopped at line {} after {} users: {}", upload.getLineNumber(),
+                        progress.getImported(), e.toString());
+                writeLine(generator, "failed", "error", "Import stopped at line " + upload.getLineNumber(),
+                        "rows", progress.getRows(), "imported", progress.getImported(), "failed", progress.getFailed());
+                generator.close();
+                return;
+            }
+            writeProgress(generator, "done", progress);
+            generator.close();
+            logger.info("Imported {} of {} users, {} rejected", progress.getImported(), progress.getRows(), progress.getFailed());
+        }
+    }
+
+    private static void writeProgress(JsonGenerator generator, String type, ImportProgress progress) {
+        writeLine(generator, type, "rows", progress.getRows(), "imported", progress.getImported(),
+                "failed", progress.getFailed());
+    }
+
+    // fields alternate name, value
+    private static void writeLine(JsonGenerator generator, String type, Object... fields) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            for (int i = 0; i < fields.length; i += 2) {
+                generator.writeObjectField((String) fields[i], fields[i + 1]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/presence")
+    public ResponseEntity<?> getPresence() {
+        Map<String, Integer> sessionsByUser = new TreeMap<>();
+        for (String user : sessionRegistry.getOnlineUsers()) {
+            sessionsByUser.put(user, sessionRegistry.getSessionCount(user));
+        }
+        return ResponseEntity.ok(new PresenceResponse(
+                sessionRegistry.getLiveSessionCount(),
+                sessionsByUser,
+                clusterUserRegistry.getRemoteUsers().size()));
+    }
+
+    // DTOs
+
+    public static class UserPage {
+        private List<UserSummary> users;
+        private Long nextAfter;
+
+        public UserPage(List<UserSummary> users, Long nextAfter) {
+            this.users = users;
+            this.nextAfter = nextAfter;
+        }
+        public List<UserSummary> getUsers() { return users; }
+        // Pass as ?after= for the next page; null on the last page
+        public Long getNextAfter() { return nextAfter; }
+    }
+
+    public static class PresenceResponse {
+        private int liveSessions;
+        private Map<String, Integer> sessionsByUser;
+        private int usersOnOtherNodes;
+
+        public PresenceResponse(int liveSessions, Map<String, Integer> sessionsByUser, int usersOnOtherNodes) {
+            this.liveSessions = liveSessions;
+            this.sessionsByUser = sessionsByUser;
+            this.usersOnOtherNodes = usersOnOtherNodes;
+        }
+        public int getLiveSessions() { return liveSessions; }
+        public int getOnlineUsers() { return sessionsByUser.size(); }
+        public Map<String, Integer> getSessionsByUser() { return sessionsByUser; }
+        public int getUsersOnOtherNodes() { return usersOnOtherNodes; }
+    }
+}
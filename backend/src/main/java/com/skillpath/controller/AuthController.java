@@ -1,6 +1,5 @@
 package com.skillpath.controller;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,12 +16,20 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.skillpath.instrumentation.QueryBudget;
 import com.skillpath.model.User;
 import com.skillpath.model.RefreshToken;
 import com.skillpath.repository.UserRepository;
 import com.skillpath.security.jwt.JwtUtils;
+import com.skillpath.security.jwt.TokenRevocationList;
 import com.skillpath.security.services.RefreshTokenService;
 import com.skillpath.security.services.UserDetailsImpl;
+import com.skillpath.service.AvailabilityService;
+import com.skillpath.service.SignupService;
+
+import io.jsonwebtoken.Claims;
 
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -45,8 +52,25 @@ public class AuthController {
   @Autowired
   JwtUtils jwtUtils;
 
+  @Autowired
+  SignupService signupService;
+
+  @Autowired
+  AvailabilityService availabilityService;
+
+  @Autowired
+  TokenRevocationList tokenRevocationList;
+
+  // User lookup by username then email, roles, refresh-token sequence and insert, roadmap
+  @QueryBudget(5)
   @PostMapping("/signin")
-  public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+  public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest,
+                                            @RequestParam(name = "roadmap", required = false) String roadmapParam,
+                                            @RequestHeader(name = RoadmapFormat.HEADER, required = false) String roadmapHeader) {
+      RoadmapFormat roadmapFormat = RoadmapFormat.resolve(roadmapParam, roadmapHeader);
+      if (roadmapFormat == null) {
+        return ResponseEntity.badRequest().body(new MessageResponse("Error: Unknown roadmap format!"));
+      }
 
       Authentication authentication = authenticationManager.authenticate(
           new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
@@ -63,45 +87,58 @@ public class AuthController {
 
       RefreshToken refreshToken = refreshTokenService.createRefreshToken(userDetails.getId());
 
-      User user = userRepository.findById(userDetails.getId()).orElseThrow();
+      // Only the roadmap column, and only when the response carries it
+      String roadmapJson = roadmapFormat.needsRoadmap()
+          ? userRepository.findRoadmapJsonById(userDetails.getId()).orElse(null)
+          : null;
 
       return ResponseEntity.ok(new JwtResponse(jwt, 
                            refreshToken.getToken(),
-                           user.getId(), 
-                           user.getUsername(), 
-                           user.getEmail(), 
+                           userDetails.getId(), 
+                           userDetails.getUsername(), 
+                           userDetails.getEmail(), 
                            roles,
-                           user.getRoadmapJson()));
+                           roadmapFormat.stringValue(roadmapJson),
+                           roadmapFormat.rawValue(roadmapJson)));
   }
 
+  // One insert for the user and its role; a conflict costs one more lookup
+  @QueryBudget(2)
   @PostMapping("/signup")
   public ResponseEntity<?> registerUser(@RequestBody SignupRequest signUpRequest) {
-    if (userRepository.existsByUsername(signUpRequest.getUsername())) {
+    SignupService.Result result = signupService.register(signUpRequest.getUsername(),
+        signUpRequest.getEmail(),
+        encoder.encode(signUpRequest.getPassword()),
+        "ROLE_USER");
+
+    if (result == SignupService.Result.USERNAME_TAKEN) {
       return ResponseEntity
           .badRequest()
           .body(new MessageResponse("Error: Username is already taken!"));
     }
 
-    if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+    if (result == SignupService.Result.EMAIL_TAKEN) {
       return ResponseEntity
           .badRequest()
           .body(new MessageResponse("Error: Email is already in use!"));
     }
 
-    User user = new User(signUpRequest.getUsername(), 
-               signUpRequest.getEmail(),
-               encoder.encode(signUpRequest.getPassword()));
-
-    Set<String> strRoles = signUpRequest.getRole();
-    Set<String> roles = new HashSet<>();
-    roles.add("ROLE_USER"); 
-    user.setRoles(roles);
-    
-    userRepository.save(user);
-
     return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
   }
 
+  // Most "available" answers come from the in-memory filter without a query
+  @QueryBudget(2)
+  @GetMapping("/availability")
+  public ResponseEntity<?> checkAvailability(@RequestParam(name = "username", required = false) String username,
+                                             @RequestParam(name = "email", required = false) String email) {
+    if (username == null && email == null) {
+      return ResponseEntity.badRequest().body(new MessageResponse("Error: Pass a username or an email!"));
+    }
+    return ResponseEntity.ok(new AvailabilityResponse(
+        username != null ? availabilityService.isUsernameAvailable(username) : null,
+        email != null ? availabilityService.isEmailAvailable(email) : null));
+  }
+
   @PostMapping("/refreshtoken")
   public ResponseEntity<?> refreshtoken(@RequestBody TokenRefreshRequest request) {
     String requestRefreshToken = request.getRefreshToken();
@@ -110,21 +147,30 @@ public class AuthController {
         .map(refreshTokenService::verifyExpiration)
         .map(RefreshToken::getUser)
         .map(user -> {
-          String token = jwtUtils.generateTokenFromUsername(user.getUsername());
+          String token = jwtUtils.generateTokenFromUsername(user.getUsername(), user.getRoles());
           return ResponseEntity.ok(new TokenRefreshResponse(token, requestRefreshToken));
         })
         .orElseThrow(() -> new RuntimeException("Refresh token is not in database!"));
   }
 
   @PostMapping("/logout")
-  public ResponseEntity<?> logoutUser(@RequestBody LogoutRequest logoutRequest) {
+  public ResponseEntity<?> logoutUser(@RequestBody LogoutRequest logoutRequest,
+                                      @RequestHeader(name = "Authorization", required = false) String authorization) {
+    // The access token would otherwise stay valid until it expires
+    if (authorization != null && authorization.startsWith("Bearer ")) {
+      Claims claims = jwtUtils.parseVerifiedClaims(authorization.substring(7));
+      if (claims != null) {
+        tokenRevocationList.revoke(claims);
+      }
+    }
     refreshTokenService.deleteByToken(logoutRequest.getRefreshToken());
     return ResponseEntity.ok(new MessageResponse("Log out successful!"));
   }
 
   @PostMapping("/forgot-password")
   public ResponseEntity<?> forgotPassword(@RequestBody ForgotPasswordRequest request) {
-      Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
+      // Users type this from memory, so match the address regardless of case
+      Optional<User> userOptional = userRepository.findFirstByEmailIgnoreCase(request.getEmail());
       
       if (!userOptional.isPresent()) {
           return ResponseEntity.ok(new MessageResponse("If your email exists, a reset link has been sent."));
@@ -160,6 +206,10 @@ public class AuthController {
       
       userRepository.save(user);
 
+      // Sessions opened with the old password end here, on every node
+      tokenRevocationList.revokeAllForUser(user.getUsername());
+      refreshTokenService.deleteByUserId(user.getId());
+
       return ResponseEntity.ok(new MessageResponse("Password successfully reset."));
   }
 
@@ -235,8 +285,10 @@ public class AuthController {
       private String email;
       private List<String> roles;
       private String roadmapJson;
+      private String roadmap;
 
-      public JwtResponse(String accessToken, String refreshToken, Long id, String username, String email, List<String> roles, String roadmapJson) {
+      public JwtResponse(String accessToken, String refreshToken, Long id, String username, String email, List<String> roles,
+                         String roadmapJson, String roadmap) {
         this.token = accessToken;
         this.refreshToken = refreshToken;
         this.id = id;
@@ -244,13 +296,32 @@ public class AuthController {
         this.email = email;
         this.roles = roles;
         this.roadmapJson = roadmapJson;
+        this.roadmap = roadmap;
       }
       public String getToken() { return token; }
       public String getRefreshToken() { return refreshToken; }
+      public Long getId() { return id; }
       public String getUsername() { return username; }
       public String getEmail() { return email; }
       public List<String> getRoles() { return roles; }
+      @JsonInclude(JsonInclude.Include.NON_NULL)
       public String getRoadmapJson() { return roadmapJson; }
+      @JsonInclude(JsonInclude.Include.NON_NULL)
+      @JsonRawValue
+      public String getRoadmap() { return roadmap; }
+  }
+
+  public static class AvailabilityResponse {
+      private Boolean usernameAvailable;
+      private Boolean emailAvailable;
+      public AvailabilityResponse(Boolean usernameAvailable, Boolean emailAvailable) {
+        this.usernameAvailable = usernameAvailable;
+        this.emailAvailable = emailAvailable;
+      }
+      @JsonInclude(JsonInclude.Include.NON_NULL)
+      public Boolean getUsernameAvailable() { return usernameAvailable; }
+      @JsonInclude(JsonInclude.Include.NON_NULL)
+      public Boolean getEmailAvailable() { return emailAvailable; }
   }
 
   public static class MessageResponse {
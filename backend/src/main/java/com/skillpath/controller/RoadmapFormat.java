@@ -0,0 +1,70 @@
+package com.skillpath.controller;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * How the signin and user responses carry the stored roadmap, chosen with the
+ * {@code roadmap} query parameter or the {@code X-Roadmap-Format} header.
+ */
+public enum RoadmapFormat {
+    /** {@code roadmapJson} as a JSON string the client parses again (default) */
+    STRING,
+    /** {@code roadmap} embedded as a JSON value, copied without escaping */
+    RAW,
+    /** Left out; the client fetches it from {@code GET /api/users/roadmap} when needed */
+    NONE;
+
+    public static final String HEADER = "X-Roadmap-Format";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** The query parameter wins over the header; null if the value is not a known format. */
+    public static RoadmapFormat resolve(String param, String header) {
+        String value = param != null ? param : header;
+        if (value == null || value.isEmpty()) {
+            return STRING;
+        }
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public boolean needsRoadmap() {
+        return this != NONE;
+    }
+
+    /** Value for the escaped {@code roadmapJson} field, or null to leave it out. */
+    public String stringValue(String roadmapJson) {
+        return this == STRING ? roadmapJson : null;
+    }
+
+    /** Value for the raw {@code roadmap} field, or null to leave it out. */
+    public String rawValue(String roadmapJson) {
+        return this == RAW ? roadmapJson : null;
+    }
+
+    /**
+     * Whether the value is a single well-formed JSON value. Stored roadmaps are
+     * checked on write so RAW can copy them into responses without re-parsing.
+     */
+    public static boolean isJson(String value) {
+        if (value == null) {
+            return false;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(value)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
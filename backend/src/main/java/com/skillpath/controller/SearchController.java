@@ -0,0 +1,67 @@
+package com.skillpath.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.skillpath.controller.UserController.MessageResponse;
+import com.skillpath.service.TopicIndexService;
+import com.skillpath.service.TopicIndexService.LearnerPage;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_TOPICS = 50;
+    private static final int MAX_LEARNERS = 200;
+
+    @Autowired
+    TopicIndexService topicIndexService;
+
+    // Autocomplete: topics starting with the prefix, most learners first
+    @GetMapping("/topics")
+    public ResponseEntity<?> searchTopics(@RequestParam(name = "prefix", defaultValue = "") String prefix,
+                                          @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (!topicIndexService.isReady()) {
+            return notReady();
+        }
+        return ResponseEntity.ok(new TopicsResponse(
+                topicIndexService.complete(prefix, Math.max(1, Math.min(limit, MAX_TOPICS)))));
+    }
+
+    // Learners of a topic by user id; active=true for those whose active node covers it
+    @GetMapping("/topics/learners")
+    public ResponseEntity<?> topicLearners(@RequestParam(name = "topic") String topic,
+                                           @RequestParam(name = "active", defaultValue = "false") boolean active,
+                                           @RequestParam(name = "after", defaultValue = "0") long after,
+                                           @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        if (!topicIndexService.isReady()) {
+            return notReady();
+        }
+        LearnerPage page = topicIndexService.learners(topic, active, after, Math.max(1, Math.min(limit, MAX_LEARNERS)));
+        if (page == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    private static ResponseEntity<?> notReady() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new MessageResponse("Error: Topic index is still building!"));
+    }
+
+    // DTOs
+
+    public static class TopicsResponse {
+        private final List<TopicIndexService.TopicSummary> topics;
+
+        public TopicsResponse(List<TopicIndexService.TopicSummary> topics) {
+            this.topics = topics;
+        }
+        public List<TopicIndexService.TopicSummary> getTopics() { return topics; }
+    }
+}
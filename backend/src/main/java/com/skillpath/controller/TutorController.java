@@ -0,0 +1,74 @@
+package com.skillpath.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.skillpath.controller.UserController.MessageResponse;
+import com.skillpath.instrumentation.QueryBudget;
+import com.skillpath.security.services.UserDetailsImpl;
+import com.skillpath.tutor.TutorHistoryStore;
+import com.skillpath.tutor.TutorMessage;
+import com.skillpath.tutor.TutorService;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/tutor")
+public class TutorController {
+
+    private static final int MAX_HISTORY = 200;
+
+    @Autowired
+    TutorService tutorService;
+
+    @Autowired
+    TutorHistoryStore historyStore;
+
+    @Value("${app.tutorMaxMessageLength:4000}")
+    private int maxMessageLength;
+
+    // Token user + roles in the filter, then the recent history for context
+    @QueryBudget(3)
+    @PostMapping(value = "/messages", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> sendMessage(@AuthenticationPrincipal UserDetailsImpl user,
+                                                  @RequestBody TutorRequest request) {
+        String message = request.getMessage();
+        if (message == null || message.isBlank()) {
+            return ResponseEntity.badRequest().body(tutorService.errorStream("Error: Message is empty!"));
+        }
+        if (message.length() > maxMessageLength) {
+            return ResponseEntity.badRequest().body(tutorService.errorStream("Error: Message is too long!"));
+        }
+        return ResponseEntity.ok()
+                // Keep proxies such as nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(tutorService.streamReply(user.getId(), message));
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<List<TutorMessage>> getHistory(@AuthenticationPrincipal UserDetailsImpl user,
+                                                         @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(historyStore.recent(user.getId(), Math.max(1, Math.min(limit, MAX_HISTORY))));
+    }
+
+    @DeleteMapping("/history")
+    public ResponseEntity<?> clearHistory(@AuthenticationPrincipal UserDetailsImpl user) {
+        historyStore.clear(user.getId());
+        return ResponseEntity.ok(new MessageResponse("Conversation cleared!"));
+    }
+
+    // DTOs
+
+    public static class TutorRequest {
+        private String message;
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
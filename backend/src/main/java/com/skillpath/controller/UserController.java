@@ -1,15 +1,23 @@
 package com.skillpath.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import com.skillpath.instrumentation.QueryBudget;
 import com.skillpath.model.User;
 import com.skillpath.repository.UserRepository;
+import com.skillpath.service.AvailabilityService;
+import com.skillpath.service.TopicIndexService;
 import com.skillpath.service.UserMetricsService;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import java.util.List;
 
 import java.security.Principal;
@@ -29,11 +37,27 @@ public class UserController {
     @Autowired
     PasswordEncoder encoder;
 
+    @Autowired
+    AvailabilityService availabilityService;
+
+    @Autowired
+    TopicIndexService topicIndexService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody UserUpdateRequest updateRequest) {
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody UserUpdateRequest updateRequest,
+                                        @RequestParam(name = "roadmap", required = false) String roadmapParam,
+                                        @RequestHeader(name = RoadmapFormat.HEADER, required = false) String roadmapHeader) {
+        RoadmapFormat roadmapFormat = RoadmapFormat.resolve(roadmapParam, roadmapHeader);
+        if (roadmapFormat == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Unknown roadmap format!"));
+        }
+
         Optional<User> userOptional = userRepository.findById(id);
         
         if (!userOptional.isPresent()) {
@@ -64,9 +88,20 @@ public class UserController {
         }
 
         userRepository.save(user);
+        availabilityService.addUser(user.getUsername(), user.getEmail());
+        topicIndexService.userRenamed(user.getId(), user.getUsername());
         
         // Return updated info (excluding password for security)
-        return ResponseEntity.ok(new UserResponse(user.getId(), user.getUsername(), user.getEmail(), user.getRoadmapJson()));
+        return ResponseEntity.ok(new UserResponse(user.getId(), user.getUsername(), user.getEmail(),
+                roadmapFormat.stringValue(user.getRoadmapJson()), roadmapFormat.rawValue(user.getRoadmapJson())));
+    }
+
+    // Stored document as is, for clients that sign in with ?roadmap=none
+    @GetMapping(value = "/roadmap", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getRoadmap(Principal principal) {
+        return userRepository.findRoadmapJsonByUsername(principal.getName())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
     @PutMapping("/{id}/roadmap")
@@ -77,9 +112,15 @@ public class UserController {
             return ResponseEntity.badRequest().body(new MessageResponse("User not found"));
         }
 
+        // Responses can embed the stored document verbatim (RoadmapFormat.RAW)
+        if (roadmapRequest.getRoadmapJson() != null && !RoadmapFormat.isJson(roadmapRequest.getRoadmapJson())) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Roadmap is not valid JSON!"));
+        }
+
         User user = userOptional.get();
         user.setRoadmapJson(roadmapRequest.getRoadmapJson());
         userRepository.save(user);
+        topicIndexService.roadmapSaved(user.getId(), user.getUsername(), user.getRoadmapJson());
         
         return ResponseEntity.ok(new MessageResponse("Roadmap updated successfully"));
     }
@@ -90,6 +131,8 @@ public class UserController {
         return ResponseEntity.ok(new MessageResponse("Activity completed, metrics updated."));
     }
 
+    // Token user + roles in the filter, user + roles here, roadmap update
+    @QueryBudget(5)
     @PostMapping("/roadmap/nodes/{nodeId}/complete")
     public ResponseEntity<?> completeRoadmapNode(@PathVariable String nodeId, Principal principal) {
         String email = principal.getName();
@@ -100,7 +143,8 @@ public class UserController {
         }
 
         try {
-            RoadmapDto roadmap = objectMapper.readValue(user.getRoadmapJson(), RoadmapDto.class);
+            RoadmapDto roadmap = roadmapJsonObservation("parse")
+                    .observeChecked(() -> objectMapper.readValue(user.getRoadmapJson(), RoadmapDto.class));
             
             int activeNodeIndex = -1;
             for (int i = 0; i < roadmap.getNodes().size(); i++) {
@@ -125,9 +169,11 @@ public class UserController {
                 roadmap.getNodes().get(activeNodeIndex + 1).setStatus("active");
             }
 
-            String updatedRoadmapJson = objectMapper.writeValueAsString(roadmap);
+            String updatedRoadmapJson = roadmapJsonObservation("serialize")
+                    .observeChecked(() -> objectMapper.writeValueAsString(roadmap));
             user.setRoadmapJson(updatedRoadmapJson);
             userRepository.save(user);
+            topicIndexService.roadmapSaved(user.getId(), user.getUsername(), updatedRoadmapJson);
 
             return ResponseEntity.ok(roadmap);
 
@@ -136,6 +182,11 @@ public class UserController {
         }
     }
 
+    private Observation roadmapJsonObservation(String operation) {
+        return Observation.createNotStarted("skillpath.roadmap.json", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation);
+    }
+
 
     // DTOs
 
@@ -191,17 +242,23 @@ public class UserController {
         private String username;
         private String email;
         private String roadmapJson;
+        private String roadmap;
         
-        public UserResponse(Long id, String username, String email, String roadmapJson) {
+        public UserResponse(Long id, String username, String email, String roadmapJson, String roadmap) {
             this.id = id;
             this.username = username;
             this.email = email;
             this.roadmapJson = roadmapJson;
+            this.roadmap = roadmap;
         }
         public Long getId() { return id; }
         public String getUsername() { return username; }
         public String getEmail() { return email; }
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         public String getRoadmapJson() { return roadmapJson; }
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonRawValue
+        public String getRoadmap() { return roadmap; }
     }
     
     public static class MessageResponse {
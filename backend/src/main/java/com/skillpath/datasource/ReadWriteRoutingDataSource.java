@@ -0,0 +1,60 @@
+package com.skillpath.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the {@link ReplicaPool} and everything else
+ * to the primary. The physical connection is only fetched at the first
+ * statement, once the transaction has been set up, so the choice can follow
+ * {@code @Transactional(readOnly = true)}. Statements outside a transaction go
+ * to the primary.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool, ReadYourWrites readYourWrites) {
+        super(new TransactionRoutingDataSource(primary, replicaPool, readYourWrites));
+        setReadOnlyDataSource(replicaPool);
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public void close() throws Exception {
+        replicaPool.close();
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static class TransactionRoutingDataSource extends DelegatingDataSource {
+        private final ReplicaPool replicaPool;
+        private final ReadYourWrites readYourWrites;
+
+        TransactionRoutingDataSource(DataSource primary, ReplicaPool replicaPool, ReadYourWrites readYourWrites) {
+            super(primary);
+            this.replicaPool = replicaPool;
+            this.readYourWrites = readYourWrites;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    return replicaPool.getConnection();
+                }
+                readYourWrites.onWriteTransaction();
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.skillpath.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers when each user last committed a read-write transaction, so their
+ * reads can stay on the primary until the replicas have caught up. Keyed by
+ * the authenticated principal; anonymous requests are never sticky.
+ */
+public class ReadYourWrites {
+
+    private static final Object TRACKED = new Object();
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    /** Called when a read-write transaction takes a primary connection. */
+    void onWriteTransaction() {
+        String user = currentUser();
+        if (user == null || windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(TRACKED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteNanos.put(user, System.nanoTime());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRACKED);
+            }
+        });
+    }
+
+    boolean isSticky() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteNanos.get(user);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    void expire() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,155 @@
+package com.skillpath.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connections for read-only work. Spreads them round-robin over the healthy
+ * replicas and falls back to the primary when the user has a recent write
+ * ({@link ReadYourWrites}), when no replica is healthy, or when a replica
+ * refuses a connection. A background check marks replicas up and down.
+ */
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWrites readYourWrites;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+
+    /**
+     * Replica pools copy the primary's settings with the URL swapped, and are
+     * allowed to start while the replica is down.
+     */
+    public ReplicaPool(HikariDataSource primary, List<String> replicaUrls, long connectTimeoutMs, long checkIntervalMs,
+                       ReadYourWrites readYourWrites, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i));
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            config.setConnectionTimeout(connectTimeoutMs);
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.isSticky()) {
+            count("primary.sticky");
+            return primary.getConnection();
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                count("replica");
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        count("primary.failover");
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the pool credentials");
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(5)) {
+                    if (!replica.healthy) {
+                        replica.healthy = true;
+                        logger.info("Read replica {} is up", replica.name);
+                    }
+                } else {
+                    markDown(replica, "connection not valid");
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        readYourWrites.expire();
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Read replica {} is down, reads fall back to the primary: {}", replica.name, reason);
+        }
+    }
+
+    private void count(String route) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("skillpath.db.reads", "route", route).increment();
+        }
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        // Starts down; the first check runs immediately
+        volatile boolean healthy;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
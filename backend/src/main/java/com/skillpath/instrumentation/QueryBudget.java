@@ -0,0 +1,18 @@
+package com.skillpath.instrumentation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a handler may issue per request, counting
+ * statements run by the security filters for that request. Overruns are
+ * logged and counted; with {@code app.queryBudgetEnforce=true} the offending
+ * statement fails instead, which is how tests catch N+1 regressions.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
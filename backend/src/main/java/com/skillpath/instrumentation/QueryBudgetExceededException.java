@@ -0,0 +1,9 @@
+package com.skillpath.instrumentation;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public QueryBudgetExceededException(String endpoint, int budget, int statements) {
+        super("Query budget exceeded for " + endpoint + ": " + statements + " statements, budget " + budget);
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillpath.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.common.KeyValue;
+
+/**
+ * Tags the current {@link QueryContext} with the controller method and its
+ * declared {@link QueryBudget}, if any, and copies the request's database
+ * totals onto its http.server.requests span.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryContext context = QueryContext.current();
+        if (context != null && handler instanceof HandlerMethod handlerMethod) {
+            context.setEndpoint(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                context.setBudget(budget.value());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryContext context = QueryContext.current();
+        if (context == null) {
+            return;
+        }
+        // High cardinality, so these go on the span only and not on the timer
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(observation -> observation
+                .addHighCardinalityKeyValue(KeyValue.of("db.statements", Integer.toString(context.getStatements())))
+                .addHighCardinalityKeyValue(KeyValue.of("db.rows", Long.toString(context.getRows())))
+                .addHighCardinalityKeyValue(KeyValue.of("db.time.ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(context.getNanos())))));
+    }
+}
@@ -0,0 +1,55 @@
+package com.skillpath.instrumentation;
+
+/**
+ * Data-access counters for the unit of work running on the current thread,
+ * either one HTTP request or one inbound STOMP message.
+ */
+public class QueryContext {
+
+    private static final ThreadLocal<QueryContext> CURRENT = new ThreadLocal<>();
+
+    private String endpoint;
+    private int budget = -1;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    QueryContext(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static QueryContext current() {
+        return CURRENT.get();
+    }
+
+    static QueryContext begin(String endpoint) {
+        QueryContext context = new QueryContext(endpoint);
+        CURRENT.set(context);
+        return context;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    public String getEndpoint() { return endpoint; }
+    void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+    public int getBudget() { return budget; }
+    void setBudget(int budget) { this.budget = budget; }
+    public int getStatements() { return statements; }
+    public long getRows() { return rows; }
+    public long getNanos() { return nanos; }
+
+    public boolean isOverBudget() {
+        return budget >= 0 && statements > budget;
+    }
+}
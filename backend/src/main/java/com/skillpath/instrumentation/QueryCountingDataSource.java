@@ -0,0 +1,159 @@
+package com.skillpath.instrumentation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application DataSource so every statement executed on a thread
+ * with an active {@link QueryContext} is counted and timed, and every row read
+ * from its result sets is counted. Threads without a context pay only for a
+ * ThreadLocal read per call.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    // Resolved lazily; a context only exists once QueryMetrics has been created
+    private final ObjectProvider<QueryMetrics> queryMetrics;
+
+    public QueryCountingDataSource(DataSource target, ObjectProvider<QueryMetrics> queryMetrics) {
+        super(target);
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), new ConnectionHandler());
+    }
+
+    // Lets the container shut the pool down through the wrapper
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T wrap(Class<T> type, Object target, DelegatingHandler handler) {
+        handler.target = target;
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        Object target;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals") && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && args == null) {
+                return System.identityHashCode(proxy);
+            }
+            return handle(method, args);
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object proceed(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private class ConnectionHandler extends DelegatingHandler {
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = proceed(method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrap(Statement.class, result, new StatementHandler());
+                case "prepareStatement":
+                    return wrap(PreparedStatement.class, result, new StatementHandler());
+                case "prepareCall":
+                    return wrap(CallableStatement.class, result, new StatementHandler());
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private class StatementHandler extends DelegatingHandler {
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            QueryContext context = QueryContext.current();
+            if (context == null) {
+                return proceed(method, args);
+            }
+            if (name.startsWith("execute")) {
+                queryMetrics.getObject().checkBudget(context);
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = proceed(method, args);
+                } finally {
+                    context.recordStatement(System.nanoTime() - start);
+                }
+                return countResult(context, result);
+            }
+            Object result = proceed(method, args);
+            if (name.equals("getResultSet") && result != null) {
+                return wrap(ResultSet.class, result, new ResultSetHandler(context));
+            }
+            return result;
+        }
+
+        private Object countResult(QueryContext context, Object result) {
+            if (result instanceof ResultSet) {
+                return wrap(ResultSet.class, result, new ResultSetHandler(context));
+            }
+            if (result instanceof Integer count) {
+                context.recordRows(Math.max(0, count));
+            } else if (result instanceof Long count) {
+                context.recordRows(Math.max(0, count));
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    context.recordRows(Math.max(0, count));
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+        private final QueryContext context;
+
+        ResultSetHandler(QueryContext context) {
+            this.context = context;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = proceed(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                context.recordRows(1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.skillpath.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Opens and closes {@link QueryContext}s and publishes per-endpoint
+ * statement, row and time histograms when each unit of work completes.
+ */
+@Component
+public class QueryMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.queryBudgetEnforce:false}")
+    private boolean enforceBudgets;
+
+    public QueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public QueryContext begin(String endpoint) {
+        return QueryContext.begin(endpoint);
+    }
+
+    public void end(QueryContext context) {
+        QueryContext.end();
+        if (context.getStatements() == 0) {
+            return;
+        }
+        String endpoint = context.getEndpoint();
+        DistributionSummary.builder("skillpath.db.statements")
+                .description("SQL statements per request")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getStatements());
+        DistributionSummary.builder("skillpath.db.rows")
+                .description("Rows read or written per request")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getRows());
+        Timer.builder("skillpath.db.time")
+                .description("Time spent executing SQL per request")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (context.isOverBudget()) {
+            Counter.builder("skillpath.db.budget.exceeded")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Query budget exceeded for {}: {} statements, budget {}",
+                    endpoint, context.getStatements(), context.getBudget());
+        }
+    }
+
+    /** Called before each statement; refuses to run it in enforcing mode if it would exceed the budget. */
+    void checkBudget(QueryContext context) {
+        if (enforceBudgets && context.getBudget() >= 0 && context.getStatements() >= context.getBudget()) {
+            throw new QueryBudgetExceededException(context.getEndpoint(), context.getBudget(), context.getStatements() + 1);
+        }
+    }
+}
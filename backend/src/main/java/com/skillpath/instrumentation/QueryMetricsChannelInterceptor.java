@@ -0,0 +1,37 @@
+package com.skillpath.instrumentation;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+/**
+ * Opens a {@link QueryContext} for each inbound STOMP message while it is
+ * handled on the channel executor, tagged by STOMP command.
+ */
+public class QueryMetricsChannelInterceptor implements ExecutorChannelInterceptor {
+
+    private final QueryMetrics queryMetrics;
+
+    public QueryMetricsChannelInterceptor(QueryMetrics queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (QueryContext.current() == null) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+            queryMetrics.begin("stomp." + (accessor.getCommand() != null ? accessor.getCommand().name() : "UNKNOWN"));
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        QueryContext context = QueryContext.current();
+        if (context != null) {
+            queryMetrics.end(context);
+        }
+    }
+}
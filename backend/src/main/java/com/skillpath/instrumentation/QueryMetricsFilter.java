@@ -0,0 +1,40 @@
+package com.skillpath.instrumentation;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens a {@link QueryContext} around the whole request, ahead of the
+ * security filters, so statements issued during authentication are charged
+ * to the request too. The endpoint tag is filled in once a handler is chosen.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    static final String UNMAPPED = "unmapped";
+
+    @Autowired
+    private QueryMetrics queryMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryContext context = queryMetrics.begin(UNMAPPED);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryMetrics.end(context);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillpath.instrumentation;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Records {@code skillpath.password.hash} around a delegate encoder. BCrypt is
+ * deliberately slow, so this is usually most of a signin or signup.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return observation("encode").observe(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return observation("matches").observe(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private Observation observation(String operation) {
+        return Observation.createNotStarted("skillpath.password.hash", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation);
+    }
+}
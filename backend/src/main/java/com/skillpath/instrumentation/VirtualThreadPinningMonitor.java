@@ -0,0 +1,107 @@
+package com.skillpath.instrumentation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that pin their carrier (blocking inside
+ * {@code synchronized} or native code) for longer than
+ * {@code app.vtPinningThresholdMs}. Pinning events are streamed from JFR and
+ * attributed to the first application frame on the stack, so the metric
+ * points at our code rather than the library that blocked.
+ *
+ * Inactive unless virtual threads are enabled on a Java 21+ runtime.
+ */
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.skillpath.";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> countersBySite = new ConcurrentHashMap<>();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.vtPinningThresholdMs:20}")
+    private long thresholdMs;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!virtualThreads || Runtime.version().feature() < 21 || stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual thread pinning monitor started (threshold {} ms)", thresholdMs);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = pinningSite(event.getStackTrace());
+        Counter counter = countersBySite.computeIfAbsent(site, key -> Counter.builder("skillpath.vt.pinned")
+                .description("Virtual thread pinning events above the threshold")
+                .tag("site", key)
+                .register(meterRegistry));
+        counter.increment();
+        Timer.builder("skillpath.vt.pinned.duration")
+                .register(meterRegistry)
+                .record(event.getDuration());
+        // First occurrence per site at WARN, repeats only at DEBUG
+        if (counter.count() == 1) {
+            logger.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        } else {
+            logger.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE) && !type.startsWith(VirtualThreadPinningMonitor.class.getPackageName())) {
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return "library";
+    }
+}
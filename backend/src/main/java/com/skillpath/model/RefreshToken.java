@@ -10,7 +10,8 @@ public class RefreshToken {
   @GeneratedValue(strategy = GenerationType.AUTO)
   private long id;
 
-  @OneToOne
+  // One per signin, so a user signed in on several devices has several
+  @ManyToOne
   @JoinColumn(name = "user_id", referencedColumnName = "id")
   private User user;
 
@@ -26,7 +26,7 @@ public class User {
   @Column(name = "reset_token_expiry")
   private LocalDateTime resetTokenExpiry;
   
-  @Lob
+  // Plain TEXT column; @Lob made the Postgres driver treat it as a large object
   @Column(name = "roadmap_json", columnDefinition = "TEXT")
   private String roadmapJson;
 
@@ -1,7 +1,11 @@
 package com.skillpath.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.skillpath.model.User;
 
@@ -9,7 +13,19 @@ import com.skillpath.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
   Optional<User> findByEmail(String email);
+  Optional<User> findFirstByEmailIgnoreCase(String email);
   Optional<User> findByResetToken(String resetToken);
   Boolean existsByUsername(String username);
   Boolean existsByEmail(String email);
+
+  // Which of these emails still belong to a user
+  @Query("select u.email from User u where u.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  // Just the roadmap column, without loading the user and its roles
+  @Query("select u.roadmapJson from User u where u.id = :id")
+  Optional<String> findRoadmapJsonById(@Param("id") Long id);
+
+  @Query("select u.roadmapJson from User u where u.username = :username")
+  Optional<String> findRoadmapJsonByUsername(@Param("username") String username);
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.skillpath.security;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts rejected tokens and other authentication failures by category and
+ * keeps the log volume bounded. Every event is counted (exported as
+ * {@code skillpath.security.events}), but at most
+ * {@code app.securityLogMaxPerSecond} lines are written per second. What was
+ * suppressed shows up in a summary line every {@code app.securityLogSummaryMs}.
+ */
+@Component
+public class SecurityEvents {
+  private static final Logger logger = LoggerFactory.getLogger(SecurityEvents.class);
+
+  public enum Category {
+    TOKEN_EXPIRED,
+    TOKEN_MALFORMED,
+    TOKEN_UNSUPPORTED,
+    TOKEN_BAD_SIGNATURE,
+    TOKEN_EMPTY,
+    TOKEN_REVOKED,
+    TOKEN_UNKNOWN_USER,
+    AUTHENTICATION_ERROR;
+
+    final String tag = name().toLowerCase(Locale.ROOT).replace('_', '.');
+  }
+
+  private final Map<Category, LongAdder> counts = new EnumMap<>(Category.class);
+  private final Map<Category, Long> reported = new EnumMap<>(Category.class);
+  private final LongAdder suppressed = new LongAdder();
+  private long reportedSuppressed;
+  private final AtomicLong currentSecond = new AtomicLong();
+  private final AtomicInteger linesThisSecond = new AtomicInteger();
+
+  @Value("${app.securityLogMaxPerSecond:10}")
+  private int maxLinesPerSecond = 10;
+
+  public SecurityEvents(MeterRegistry meterRegistry) {
+    for (Category category : Category.values()) {
+      LongAdder count = new LongAdder();
+      counts.put(category, count);
+      reported.put(category, 0L);
+      FunctionCounter.builder("skillpath.security.events", count, LongAdder::sum)
+          .description("Rejected tokens and authentication failures")
+          .tag("category", category.tag)
+          .register(meterRegistry);
+    }
+    FunctionCounter.builder("skillpath.security.log.suppressed", suppressed, LongAdder::sum)
+        .description("Security event log lines dropped by the rate limit")
+        .register(meterRegistry);
+  }
+
+  /** Records the event; {@code reason} must not contain the token itself. */
+  public void record(Category category, String reason) {
+    counts.get(category).increment();
+    if (!tryAcquireLine()) {
+      suppressed.increment();
+      return;
+    }
+    // Expired tokens are routine client behavior, the rest may be probing
+    if (category == Category.TOKEN_EXPIRED) {
+      logger.info("security_event category={} reason=\"{}\"", category.tag, reason);
+    } else {
+      logger.warn("security_event category={} reason=\"{}\"", category.tag, reason);
+    }
+  }
+
+  private boolean tryAcquireLine() {
+    long second = System.nanoTime() / 1_000_000_000L;
+    long current = currentSecond.get();
+    if (second != current && currentSecond.compareAndSet(current, second)) {
+      linesThisSecond.set(0);
+    }
+    return linesThisSecond.incrementAndGet() <= maxLinesPerSecond;
+  }
+
+  @Scheduled(fixedDelayString = "${app.securityLogSummaryMs:60000}")
+  public void logSummary() {
+    StringBuilder summary = new StringBuilder();
+    for (Category category : Category.values()) {
+      long total = counts.get(category).sum();
+      long delta = total - reported.put(category, total);
+      if (delta > 0) {
+        summary.append(' ').append(category.tag).append('=').append(delta);
+      }
+    }
+    long totalSuppressed = suppressed.sum();
+    if (summary.length() > 0) {
+      logger.warn("security_event_summary{} suppressed_lines={}", summary, totalSuppressed - reportedSuppressed);
+    }
+    reportedSuppressed = totalSuppressed;
+  }
+}
@@ -1,8 +1,12 @@
 package com.skillpath.security;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,9 +18,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.skillpath.instrumentation.TimedPasswordEncoder;
 import com.skillpath.security.jwt.AuthTokenFilter;
 import com.skillpath.security.services.UserDetailsServiceImpl;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
@@ -24,6 +31,12 @@ public class WebSecurityConfig {
   @Autowired
   UserDetailsServiceImpl userDetailsService;
 
+  @Autowired
+  ObservationRegistry observationRegistry;
+
+  @Autowired
+  Environment environment;
+
   @Bean
   public AuthTokenFilter authenticationJwtTokenFilter() {
     return new AuthTokenFilter();
@@ -46,17 +59,30 @@ public class WebSecurityConfig {
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    return new TimedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
   }
   
   @Bean
   public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    // The scrape endpoint is open only when actuator listens on its own, internal port
+    String[] scrapePaths = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+        ? new String[] { "/actuator/prometheus" }
+        : new String[0];
     http
         .csrf(csrf -> csrf.disable())
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> 
-          auth.requestMatchers("/api/auth/**").permitAll()
+          // The async dispatch that ends a streamed response (SSE) belongs to a request already authorized
+          auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+              .requestMatchers("/api/auth/**").permitAll()
               .requestMatchers("/ws/**").permitAll() // Allow WebSocket connections
+              .requestMatchers("/ws-native").permitAll()
+              .requestMatchers("/api/admin/**").hasRole("ADMIN")
+              // Probes carry no credentials; metrics are for admins only
+              .requestMatchers("/livez", "/readyz").permitAll()
+              .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+              .requestMatchers(scrapePaths).permitAll()
+              .requestMatchers("/actuator/**").hasRole("ADMIN")
               .anyRequest().authenticated()
         );
     
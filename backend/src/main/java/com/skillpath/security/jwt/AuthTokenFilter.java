@@ -7,18 +7,23 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.skillpath.security.SecurityEvents;
+import com.skillpath.security.SecurityEvents.Category;
 import com.skillpath.security.services.UserDetailsServiceImpl;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 public class AuthTokenFilter extends OncePerRequestFilter {
   @Autowired
   private JwtUtils jwtUtils;
@@ -26,15 +31,28 @@ public class AuthTokenFilter extends OncePerRequestFilter {
   @Autowired
   private UserDetailsServiceImpl userDetailsService;
 
-  private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
+  @Autowired
+  private SecurityEvents securityEvents;
+
+  @Autowired
+  private ObservationRegistry observationRegistry;
 
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
+    // Times this filter's own work; the rest of the chain is in http.server.requests
+    Observation.createNotStarted("skillpath.auth.filter", observationRegistry)
+        .observe(() -> authenticate(request));
+
+    filterChain.doFilter(request, response);
+  }
+
+  private void authenticate(HttpServletRequest request) {
     try {
       String jwt = parseJwt(request);
-      if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-        String username = jwtUtils.getUserNameFromJwtToken(jwt);
+      Claims claims = jwt != null ? verify(jwt) : null;
+      if (claims != null) {
+        String username = claims.getSubject();
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         UsernamePasswordAuthenticationToken authentication =
@@ -46,11 +64,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
       }
+    } catch (UsernameNotFoundException e) {
+      // Validly signed token for a user that no longer exists
+      securityEvents.record(Category.TOKEN_UNKNOWN_USER, e.getClass().getSimpleName());
     } catch (Exception e) {
-      logger.error("Cannot set user authentication: {}", e);
+      securityEvents.record(Category.AUTHENTICATION_ERROR, e.toString());
     }
+  }
 
-    filterChain.doFilter(request, response);
+  // Signature, expiry and revocation in one parse; null if the token is not accepted
+  private Claims verify(String jwt) {
+    return Observation.createNotStarted("skillpath.jwt.verify", observationRegistry)
+        .observe(() -> jwtUtils.parseVerifiedClaims(jwt));
   }
 
   private String parseJwt(HttpServletRequest request) {
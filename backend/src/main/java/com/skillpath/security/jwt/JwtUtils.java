@@ -1,45 +1,126 @@
 package com.skillpath.security.jwt;
 
 import java.security.Key;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.skillpath.security.SecurityEvents;
+import com.skillpath.security.SecurityEvents.Category;
 import com.skillpath.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 
 @Component
 public class JwtUtils {
-  private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
-
   @Value("${app.jwtSecret}")
   private String jwtSecret;
 
   @Value("${app.jwtExpirationMs}")
   private int jwtExpirationMs;
 
+  static final String ROLES_CLAIM = "roles";
+
+  private volatile Key signingKey;
+
+  private final SecurityEvents securityEvents;
+  private final TokenRevocationList revocationList;
+
+  public JwtUtils(SecurityEvents securityEvents, TokenRevocationList revocationList) {
+    this.securityEvents = securityEvents;
+    this.revocationList = revocationList;
+  }
+
   public String generateJwtToken(UserDetails userPrincipal) {
-    return generateTokenFromUsername(userPrincipal.getUsername());
+    List<String> roles = userPrincipal.getAuthorities().stream()
+        .map(GrantedAuthority::getAuthority)
+        .collect(Collectors.toList());
+    return generateTokenFromUsername(userPrincipal.getUsername(), roles);
   }
 
   public String generateTokenFromUsername(String username) {
-    return Jwts.builder()
+    return generateTokenFromUsername(username, Collections.emptyList());
+  }
+
+  public String generateTokenFromUsername(String username, Collection<String> roles) {
+    JwtBuilder builder = Jwts.builder()
+        .setId(UUID.randomUUID().toString())
         .setSubject(username)
         .setIssuedAt(new Date())
-        .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-        .signWith(key(), SignatureAlgorithm.HS256)
-        .compact();
+        .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs));
+    if (!roles.isEmpty()) {
+      builder.claim(ROLES_CLAIM, roles);
+    }
+    return builder.signWith(key(), SignatureAlgorithm.HS256).compact();
   }
   
   private Key key() {
-    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    // Decoding the secret and building the HMAC key on every call showed up on the auth path
+    Key key = signingKey;
+    if (key == null) {
+      key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+      signingKey = key;
+    }
+    return key;
+  }
+
+  /**
+   * Verifies the token and returns its claims in a single parse, or null if the
+   * token is invalid. Behaves like {@link #validateJwtToken} followed by a claims read.
+   */
+  public Claims parseVerifiedClaims(String token) {
+    try {
+      Claims claims = Jwts.parserBuilder().setSigningKey(key()).build()
+                          .parseClaimsJws(token).getBody();
+      return isRevoked(claims) ? null : claims;
+    } catch (JwtException | IllegalArgumentException e) {
+      reject(e);
+    }
+
+    return null;
+  }
+
+  private boolean isRevoked(Claims claims) {
+    if (!revocationList.isRevoked(claims)) {
+      return false;
+    }
+    securityEvents.record(Category.TOKEN_REVOKED, "revoked");
+    return true;
+  }
+
+  // Counted and rate-limited rather than logged one by one: an expiry wave or a
+  // token-spraying client would otherwise turn into a flood of ERROR lines
+  private void reject(RuntimeException e) {
+    Category category;
+    if (e instanceof ExpiredJwtException) {
+      category = Category.TOKEN_EXPIRED;
+    } else if (e instanceof UnsupportedJwtException) {
+      category = Category.TOKEN_UNSUPPORTED;
+    } else if (e instanceof SecurityException) {
+      category = Category.TOKEN_BAD_SIGNATURE;
+    } else if (e instanceof IllegalArgumentException) {
+      category = Category.TOKEN_EMPTY;
+    } else {
+      category = Category.TOKEN_MALFORMED;
+    }
+    securityEvents.record(category, e.getClass().getSimpleName());
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<String> getRolesFromClaims(Claims claims) {
+    Object roles = claims.get(ROLES_CLAIM);
+    return roles instanceof List ? (List<String>) roles : Collections.emptyList();
   }
 
   public String getUserNameFromJwtToken(String token) {
@@ -49,18 +130,13 @@ public class JwtUtils {
 
   public boolean validateJwtToken(String authToken) {
     try {
-      Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-      return true;
-    } catch (MalformedJwtException e) {
-      logger.error("Invalid JWT token: {}", e.getMessage());
-    } catch (ExpiredJwtException e) {
-      logger.error("JWT token is expired: {}", e.getMessage());
-    } catch (UnsupportedJwtException e) {
-      logger.error("JWT token is unsupported: {}", e.getMessage());
-    } catch (IllegalArgumentException e) {
-      logger.error("JWT claims string is empty: {}", e.getMessage());
+      Claims claims = Jwts.parserBuilder().setSigningKey(key()).build()
+                          .parseClaimsJws(authToken).getBody();
+      return !isRevoked(claims);
+    } catch (JwtException | IllegalArgumentException e) {
+      reject(e);
     }
 
     return false;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+package com.skillpath.security.jwt;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Access tokens revoked before their expiry: single tokens by {@code jti}
+ * (logout) and all of a user's tokens issued before a point in time (password
+ * reset). {@link #isRevoked} is two hash lookups with no I/O, so the auth
+ * filter can check every request. Entries only need to live as long as the
+ * tokens they revoke, so memory is bounded by the revocations made within one
+ * {@code app.jwtExpirationMs}. A timing wheel with one slot per
+ * {@code app.jwtRevocationSweepMs} drops them once they expire.
+ *
+ * <p>Revocations are written to {@code token_revocations}, loaded again on
+ * startup, and polled every {@code app.jwtRevocationPollMs} so revocations
+ * made on other nodes take effect there too.
+ */
+@Component
+public class TokenRevocationList implements SmartInitializingSingleton {
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+  private static final String SELECT_SQL =
+      "SELECT jti, username, issued_before_ms, expires_at_ms FROM token_revocations";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long tokenLifetimeMs;
+  private final long pollMs;
+
+  // jti -> expiry of that token
+  private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+  // username -> tokens issued before this instant are revoked
+  private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+  private final long tickMs;
+  private final Queue<WheelEntry>[] wheel;
+  // Guarded by this, like every change to the wheel
+  private long lastSweptTick;
+
+  private volatile boolean loaded;
+
+  @SuppressWarnings("unchecked")
+  public TokenRevocationList(DataSource dataSource, MeterRegistry meterRegistry,
+                             @Value("${app.jwtExpirationMs}") long tokenLifetimeMs,
+                             @Value("${app.jwtRevocationSweepMs:60000}") long sweepMs,
+                             @Value("${app.jwtRevocationPollMs:5000}") long pollMs) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.tokenLifetimeMs = tokenLifetimeMs;
+    this.pollMs = pollMs;
+    this.tickMs = sweepMs;
+    // One slot per tick across a token lifetime, so a slot never holds entries from two laps
+    int slots = (int) (tokenLifetimeMs / sweepMs) + 2;
+    this.wheel = new Queue[slots];
+    for (int i = 0; i < slots; i++) {
+      wheel[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.lastSweptTick = System.currentTimeMillis() / tickMs;
+    Gauge.builder("skillpath.jwt.revocations", this, list -> list.revokedTokens.size() + list.revokedBefore.size())
+        .description("Revoked access tokens and per-user revocations held until expiry")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Tokens issued in the same second as a user-wide revocation stay valid:
+   * {@code iat} has one-second resolution, and a signin right after a password
+   * reset must not be revoked by it.
+   */
+  public boolean isRevoked(Claims claims) {
+    String jti = claims.getId();
+    if (jti != null && !revokedTokens.isEmpty() && revokedTokens.containsKey(jti)) {
+      return true;
+    }
+    if (revokedBefore.isEmpty()) {
+      return false;
+    }
+    Long before = revokedBefore.get(claims.getSubject());
+    Date issuedAt = claims.getIssuedAt();
+    return before != null && issuedAt != null && issuedAt.getTime() < before;
+  }
+
+  /** Revokes one token. Tokens without a jti predate revocation and just run out. */
+  public void revoke(Claims claims) {
+    String jti = claims.getId();
+    if (jti == null || claims.getExpiration() == null) {
+      return;
+    }
+    long expiresAt = claims.getExpiration().getTime();
+    if (addToken(jti, expiresAt)) {
+      jdbcTemplate.update("INSERT INTO token_revocations (jti, username, expires_at_ms) VALUES (?, ?, ?)",
+          jti, claims.getSubject(), expiresAt);
+    }
+  }
+
+  /** Revokes every token issued to the user so far. */
+  public void revokeAllForUser(String username) {
+    long now = System.currentTimeMillis();
+    long before = now - now % 1000;
+    addUser(username, before);
+    jdbcTemplate.update(
+        "INSERT INTO token_revocations (username, issued_before_ms, expires_at_ms) VALUES (?, ?, ?)",
+        username, before, before + tokenLifetimeMs);
+  }
+
+  private boolean addToken(String jti, long expiresAt) {
+    if (expiresAt <= System.currentTimeMillis()) {
+      return false;
+    }
+    if (revokedTokens.putIfAbsent(jti, expiresAt) != null) {
+      return false;
+    }
+    schedule(new WheelEntry(jti, false), expiresAt);
+    return true;
+  }
+
+  private void addUser(String username, long before) {
+    long expiresAt = before + tokenLifetimeMs;
+    if (expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+    boolean[] raised = { false };
+    revokedBefore.compute(username, (key, current) -> {
+      if (current != null && current >= before) {
+        return current;
+      }
+      raised[0] = true;
+      return before;
+    });
+    if (raised[0]) {
+      schedule(new WheelEntry(username, true), expiresAt);
+    }
+  }
+
+  private synchronized void schedule(WheelEntry entry, long expiresAt) {
+    // A tick already swept comes round again only after a full lap
+    long tick = Math.max(expiresAt / tickMs, lastSweptTick + 1);
+    wheel[(int) (tick % wheel.length)].offer(entry);
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    // Before the web server starts, so no request is checked against an empty list
+    load();
+  }
+
+  private void load() {
+    try {
+      int[] count = { 0 };
+      jdbcTemplate.query(SELECT_SQL + " WHERE expires_at_ms > ?", (RowCallbackHandler) rs -> {
+        apply(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4));
+        count[0]++;
+      }, System.currentTimeMillis());
+      loaded = true;
+      logger.info("Loaded {} token revocations", count[0]);
+    } catch (RuntimeException e) {
+      // No database (e.g. the AOT training run); the poll retries the full load
+      logger.warn("Could not load token revocations, retrying: {}", e.toString());
+    }
+  }
+
+  private void apply(String jti, String username, long issuedBefore, long expiresAt) {
+    if (jti != null) {
+      addToken(jti, expiresAt);
+    } else if (username != null) {
+      addUser(username, issuedBefore);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwtRevocationPollMs:5000}")
+  public void poll() {
+    if (!loaded) {
+      load();
+      return;
+    }
+    // Re-reads an overlapping window so rows committed out of id order are not missed; applying is idempotent
+    double windowSeconds = (pollMs * 3 + 30_000) / 1000.0;
+    try {
+      jdbcTemplate.query(SELECT_SQL + " WHERE created_at > now() - make_interval(secs => ?)",
+          (RowCallbackHandler) rs -> apply(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4)),
+          windowSeconds);
+    } catch (RuntimeException e) {
+      logger.warn("Token revocation poll failed: {}", e.toString());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwtRevocationSweepMs:60000}")
+  public void sweep() {
+    long now = System.currentTimeMillis();
+    sweepWheel(now);
+    if (loaded) {
+      try {
+        jdbcTemplate.update("DELETE FROM token_revocations WHERE expires_at_ms < ?", now);
+      } catch (RuntimeException e) {
+        logger.warn("Token revocation purge failed: {}", e.toString());
+      }
+    }
+  }
+
+  private synchronized void sweepWheel(long now) {
+    long nowTick = now / tickMs;
+    long lastTick = Math.min(nowTick, lastSweptTick + wheel.length);
+    for (long tick = lastSweptTick + 1; tick <= lastTick; tick++) {
+      // Before draining, so an entry re-scheduled from this slot goes to a later one
+      lastSweptTick = tick;
+      Queue<WheelEntry> slot = wheel[(int) (tick % wheel.length)];
+      for (int i = slot.size(); i > 0; i--) {
+        WheelEntry entry = slot.poll();
+        if (entry == null) {
+          break;
+        }
+        long expiresAt = expiry(entry);
+        if (expiresAt > now) {
+          schedule(entry, expiresAt);
+        } else if (expiresAt >= 0) {
+          remove(entry, expiresAt);
+        }
+      }
+    }
+    lastSweptTick = nowTick;
+  }
+
+  // -1 if the entry is already gone
+  private long expiry(WheelEntry entry) {
+    if (entry.user) {
+      Long before = revokedBefore.get(entry.key);
+      return before != null ? before + tokenLifetimeMs : -1;
+    }
+    Long expiresAt = revokedTokens.get(entry.key);
+    return expiresAt != null ? expiresAt : -1;
+  }
+
+  private void remove(WheelEntry entry, long expiresAt) {
+    if (entry.user) {
+      revokedBefore.remove(entry.key, expiresAt - tokenLifetimeMs);
+    } else {
+      revokedTokens.remove(entry.key, expiresAt);
+    }
+  }
+
+  private static class WheelEntry {
+    final String key;
+    final boolean user;
+
+    WheelEntry(String key, boolean user) {
+      this.key = key;
+      this.user = user;
+    }
+  }
+}
@@ -24,6 +24,9 @@ public class RefreshTokenService {
   @Autowired
   private UserRepository userRepository;
 
+  // Read-write so the lookup stays on the primary: a token issued a moment ago
+  // may not have reached a read replica yet
+  @Transactional
   public Optional<RefreshToken> findByToken(String token) {
     return refreshTokenRepository.findByToken(token);
   }
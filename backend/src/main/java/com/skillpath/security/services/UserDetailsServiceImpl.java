@@ -15,6 +15,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
   @Autowired
   UserRepository userRepository;
 
+  // Read-write so it stays on the primary: a signin right after signup must not miss the user on a lagging replica
   @Override
   @Transactional
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
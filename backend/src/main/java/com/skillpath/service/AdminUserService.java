@@ -0,0 +1,209 @@
+package com.skillpath.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * User listing and export for the admin API. Both page through users by id
+ * (keyset) rather than by offset, so every page costs the same however deep
+ * it is, and both read in short read-only transactions that go to a read
+ * replica when one is configured.
+ */
+@Service
+public class AdminUserService {
+
+    // Roles are folded in per row so a page needs one statement, not one per user
+    private static final String PAGE_SQL = """
+            SELECT u.id, u.username, u.email, u.roadmap_json,
+                   (SELECT string_agg(r.roles, ',') FROM user_roles r WHERE r.user_id = u.id) AS roles
+            FROM users u
+            WHERE u.id > ?
+            ORDER BY u.id
+            LIMIT ?""";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int exportBatchSize;
+
+    public AdminUserService(DataSource dataSource,
+                            @Value("${app.adminExportBatchSize:1000}") int exportBatchSize,
+                            @Value("${app.adminExportFetchSize:250}") int exportFetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Postgres only streams with a fetch size inside a transaction, which the batches have
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(exportFetchSize);
+        // Plain JDBC transactions: under the JPA transaction manager they would run on the request's
+        // open-in-view EntityManager connection, which stays checked out while the export streams
+        this.readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    /** Up to {@code limit} users with an id greater than {@code afterId}, in id order. */
+    public List<UserSummary> listUsers(long afterId, int limit) {
+        return readOnlyTransaction.execute(status ->
+                jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> toSummary(rs), afterId, limit));
+    }
+
+    /**
+     * Writes every user as one JSON line. Each batch is read through a
+     * forward-only cursor into a buffer bounded by the batch size and written
+     * to the client after its transaction has ended, so a slow client never
+     * keeps a transaction or connection open and memory does not grow with
+     * the number of users.
+     */
+    public long exportUsers(OutputStream out) throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        long afterId = 0;
+        long exported = 0;
+        while (true) {
+            long batchAfterId = afterId;
+            batch.reset();
+            long[] lastIdAndCount = readOnlyTransaction.execute(status -> writeBatch(batchAfterId, batch));
+            if (lastIdAndCount[1] == 0) {
+                break;
+            }
+            batch.writeTo(out);
+            out.flush();
+            afterId = lastIdAndCount[0];
+            exported += lastIdAndCount[1];
+            if (lastIdAndCount[1] < exportBatchSize) {
+                break;
+            }
+        }
+        return exported;
+    }
+
+    private long[] writeBatch(long afterId, ByteArrayOutputStream batch) {
+        long[] lastIdAndCount = { afterId, 0 };
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(batch)) {
+            generator.setRootValueSeparator(null);
+            cursorTemplate.query(PAGE_SQL, rs -> {
+                UserSummary user = toSummary(rs);
+                try {
+                    writeLine(generator, user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                lastIdAndCount[0] = user.getId();
+                lastIdAndCount[1]++;
+            }, afterId, exportBatchSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lastIdAndCount;
+    }
+
+    private static void writeLine(JsonGenerator generator, UserSummary user) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", user.getId());
+        generator.writeStringField("username", user.getUsername());
+        generator.writeStringField("email", user.getEmail());
+        generator.writeArrayFieldStart("roles");
+        for (String role : user.getRoles()) {
+            generator.writeString(role);
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("nodesTotal", user.getNodesTotal());
+        generator.writeNumberField("nodesCompleted", user.getNodesCompleted());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static UserSummary toSummary(ResultSet rs) throws SQLException {
+        String roles = rs.getString("roles");
+        int[] progress = roadmapProgress(rs.getString("roadmap_json"));
+        return new UserSummary(rs.getLong("id"), rs.getString("username"), rs.getString("email"),
+                roles != null ? Arrays.asList(roles.split(",")) : List.of(), progress[0], progress[1]);
+    }
+
+    /**
+     * Total and completed node counts, read with a streaming parser so a large
+     * roadmap is never materialized. Anything unexpected counts as no progress.
+     */
+    static int[] roadmapProgress(String roadmapJson) {
+        int[] progress = { 0, 0 };
+        if (roadmapJson == null) {
+            return progress;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(roadmapJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return progress;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!"nodes".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonToken node;
+                while ((node = parser.nextToken()) != JsonToken.END_ARRAY && node != null) {
+                    if (node != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    progress[0]++;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String nodeField = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("status".equals(nodeField) && "completed".equals(parser.getValueAsString())) {
+                            progress[1]++;
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return new int[] { 0, 0 };
+        }
+        return progress;
+    }
+
+    public static class UserSummary {
+        private final long id;
+        private final String username;
+        private final String email;
+        private final List<String> roles;
+        private final int nodesTotal;
+        private final int nodesCompleted;
+
+        public UserSummary(long id, String username, String email, List<String> roles, int nodesTotal, int nodesCompleted) {
+            this.id = id;
+            this.username = username;
+            this.email = email;
+            this.roles = new ArrayList<>(roles);
+            this.nodesTotal = nodesTotal;
+            this.nodesCompleted = nodesCompleted;
+        }
+        public long getId() { return id; }
+        public String getUsername() { return username; }
+        public String getEmail() { return email; }
+        public List<String> getRoles() { return roles; }
+        public int getNodesTotal() { return nodesTotal; }
+        public int getNodesCompleted() { return nodesCompleted; }
+    }
+}
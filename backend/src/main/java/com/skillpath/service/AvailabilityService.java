@@ -0,0 +1,158 @@
+package com.skillpath.service;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillpath.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Username and email availability for the signup form. A Bloom filter over
+ * every existing username and email answers most "available" checks without
+ * a query; only names the filter may have seen are looked up. The filter is
+ * built after startup, kept current by {@link #addUser} on every write path
+ * of this node, and rebuilt every {@code app.availabilityRefreshMs} to pick up
+ * users created on other nodes. Answers are advisory: the unique constraints
+ * still decide at signup.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    private static final char USERNAME = 'u';
+    private static final char EMAIL = 'e';
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Counter filterAnswers;
+    private final Counter databaseAnswers;
+
+    // null until the first build; every check goes to the database until then
+    private volatile BloomFilter filter;
+    // Held by addUser and while a rebuild swaps filters, so an add lands in whichever filter ends up live
+    private final Object publishLock = new Object();
+    // Set while a rebuild scans the table, so users added meanwhile are not lost; guarded by publishLock
+    private BloomFilter building;
+
+    public AvailabilityService(UserRepository userRepository, DataSource dataSource,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                               @Value("${app.availabilityExpectedUsers:1000000}") long expectedUsers,
+                               @Value("${app.availabilityFalsePositiveRate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(1000);
+        // Not read-only, so the scan runs on the primary: a lagging replica would miss users
+        // created just before the scan, after addUser last saw the old filter
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filterAnswers = Counter.builder("skillpath.availability.checks")
+                .description("Availability checks by what answered them")
+                .tag("answer", "filter")
+                .register(meterRegistry);
+        this.databaseAnswers = Counter.builder("skillpath.availability.checks")
+                .description("Availability checks by what answered them")
+                .tag("answer", "database")
+                .register(meterRegistry);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        if (definitelyAbsent(USERNAME, username)) {
+            return true;
+        }
+        databaseAnswers.increment();
+        return !userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        if (definitelyAbsent(EMAIL, email)) {
+            return true;
+        }
+        databaseAnswers.increment();
+        return !userRepository.existsByEmail(email);
+    }
+
+    private boolean definitelyAbsent(char kind, String value) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(kind, value)) {
+            filterAnswers.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /** Call after a user is inserted or renamed on this node. */
+    public void addUser(String username, String email) {
+        synchronized (publishLock) {
+            if (filter != null) {
+                put(filter, username, email);
+            }
+            if (building != null) {
+                put(building, username, email);
+            }
+        }
+    }
+
+    private static void put(BloomFilter target, String username, String email) {
+        if (username != null) {
+            target.put(USERNAME, username);
+        }
+        if (email != null) {
+            target.put(EMAIL, email);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.availabilityRefreshMs:600000}", fixedDelayString = "${app.availabilityRefreshMs:600000}")
+    public synchronized void rebuild() {
+        try {
+            long start = System.nanoTime();
+            long users = scanTransaction.execute(status ->
+                    cursorTemplate.queryForObject("SELECT count(*) FROM users", Long.class));
+            // Room to grow until the next rebuild; two keys per user
+            BloomFilter next = new BloomFilter(2 * Math.max(expectedUsers, 2 * users), falsePositiveRate);
+            synchronized (publishLock) {
+                building = next;
+            }
+            scanTransaction.executeWithoutResult(status ->
+                    cursorTemplate.query("SELECT username, email FROM users",
+                            (RowCallbackHandler) rs -> put(next, rs.getString(1), rs.getString(2))));
+            synchronized (publishLock) {
+                filter = next;
+                building = null;
+            }
+            logger.info("Availability filter built over {} users in {} ms ({} KB)",
+                    users, (System.nanoTime() - start) / 1_000_000, next.sizeInBytes() / 1024);
+        } catch (RuntimeException e) {
+            // Keep answering from the previous filter, or the database if there is none
+            logger.warn("Availability filter rebuild failed: {}", e.toString());
+        } finally {
+            synchronized (publishLock) {
+                building = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.skillpath.service;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.skillpath.repository.UserRepository;
+
+/**
+ * Creates a user and its role in one statement and lets the unique
+ * constraints on username and email reject duplicates, so two concurrent
+ * signups for the same name cannot both pass a check and then collide.
+ */
+@Service
+public class SignupService {
+
+    public enum Result { CREATED, USERNAME_TAKEN, EMAIL_TAKEN }
+
+    private static final String INSERT_SQL = """
+            WITH inserted AS (
+                INSERT INTO users (username, email, password) VALUES (?, ?, ?) RETURNING id
+            )
+            INSERT INTO user_roles (user_id, roles) SELECT id, ? FROM inserted""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final AvailabilityService availabilityService;
+
+    public SignupService(DataSource dataSource, UserRepository userRepository, AvailabilityService availabilityService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.userRepository = userRepository;
+        this.availabilityService = availabilityService;
+    }
+
+    public Result register(String username, String email, String passwordHash, String role) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, username, email, passwordHash, role);
+        } catch (DuplicateKeyException e) {
+            // Rare path: one more query to say which one, username first as before
+            return userRepository.existsByUsername(username) ? Result.USERNAME_TAKEN : Result.EMAIL_TAKEN;
+        }
+        availabilityService.addUser(username, email);
+        return Result.CREATED;
+    }
+}
@@ -0,0 +1,212 @@
+package com.skillpath.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index from normalized topic to the users whose roadmap covers it,
+ * and to the users whose active node does. Posting lists are sorted int
+ * arrays that writers replace rather than modify, so readers need no locks
+ * and can page through a list by user id. Writes must be serialized by the
+ * caller.
+ */
+final class TopicIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final ConcurrentSkipListMap<String, Topic> topics = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Learner> learners = new ConcurrentHashMap<>();
+
+    static final class Topic {
+        final String key;
+        // As first seen, for display
+        final String name;
+        volatile int[] learners = NONE;
+        volatile int[] active = NONE;
+
+        Topic(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+    }
+
+    /** A user's topics as normalized keys, each sorted and distinct. */
+    static final class Learner {
+        final String username;
+        final String[] topics;
+        final String[] activeTopics;
+
+        Learner(String username, String[] topics, String[] activeTopics) {
+            this.username = username;
+            this.topics = topics;
+            this.activeTopics = activeTopics;
+        }
+
+        Learner withUsername(String username) {
+            return new Learner(username, topics, activeTopics);
+        }
+
+        boolean isEmpty() {
+            return topics.length == 0;
+        }
+    }
+
+    /** Lower case with single spaces, so "Spring  Boot" and "spring boot" are one topic. */
+    static String normalize(String topic) {
+        return displayName(topic).toLowerCase(Locale.ROOT);
+    }
+
+    /** The topic as written, with single spaces. */
+    static String displayName(String topic) {
+        return String.join(" ", topic.trim().split("\\s+"));
+    }
+
+    Topic topic(String key) {
+        return topics.get(key);
+    }
+
+    /** Topics whose key starts with the prefix, in key order. */
+    NavigableMap<String, Topic> withPrefix(String prefix) {
+        return topics.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    Learner learner(int userId) {
+        return learners.get(userId);
+    }
+
+    int topicCount() {
+        return topics.size();
+    }
+
+    int learnerCount() {
+        return learners.size();
+    }
+
+    /** Replaces the user's entry, touching only the posting lists that change. */
+    void put(int userId, Learner learner, Map<String, String> names) {
+        Learner previous = learner.isEmpty() ? learners.remove(userId) : learners.put(userId, learner);
+        String[] oldTopics = previous != null ? previous.topics : new String[0];
+        String[] oldActive = previous != null ? previous.activeTopics : new String[0];
+        for (String key : learner.topics) {
+            if (Arrays.binarySearch(oldTopics, key) < 0) {
+                Topic topic = topics.computeIfAbsent(key, k -> new Topic(k, names.getOrDefault(k, k)));
+                topic.learners = insert(topic.learners, userId);
+            }
+        }
+        for (String key : learner.activeTopics) {
+            if (Arrays.binarySearch(oldActive, key) < 0) {
+                Topic topic = topics.get(key);
+                topic.active = insert(topic.active, userId);
+            }
+        }
+        for (String key : oldActive) {
+            if (Arrays.binarySearch(learner.activeTopics, key) < 0) {
+                Topic topic = topics.get(key);
+                topic.active = delete(topic.active, userId);
+            }
+        }
+        for (String key : oldTopics) {
+            if (Arrays.binarySearch(learner.topics, key) < 0) {
+                Topic topic = topics.get(key);
+                topic.learners = delete(topic.learners, userId);
+                if (topic.learners.length == 0) {
+                    topics.remove(key);
+                }
+            }
+        }
+    }
+
+    void rename(int userId, String username) {
+        learners.computeIfPresent(userId, (id, learner) -> learner.withUsername(username));
+    }
+
+    /** Builds the index in one pass, sorting each posting list once instead of inserting into it. */
+    static TopicIndex build(Map<Integer, Learner> entries, Map<String, String> names) {
+        TopicIndex index = new TopicIndex();
+        Map<String, IntList> all = new HashMap<>();
+        Map<String, IntList> active = new HashMap<>();
+        for (Map.Entry<Integer, Learner> entry : entries.entrySet()) {
+            Learner learner = entry.getValue();
+            if (learner.isEmpty()) {
+                continue;
+            }
+            index.learners.put(entry.getKey(), learner);
+            for (String key : learner.topics) {
+                all.computeIfAbsent(key, k -> new IntList()).add(entry.getKey());
+            }
+            for (String key : learner.activeTopics) {
+                active.computeIfAbsent(key, k -> new IntList()).add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, IntList> entry : all.entrySet()) {
+            Topic topic = new Topic(entry.getKey(), names.getOrDefault(entry.getKey(), entry.getKey()));
+            topic.learners = entry.getValue().sorted();
+            IntList activeIds = active.get(entry.getKey());
+            if (activeIds != null) {
+                topic.active = activeIds.sorted();
+            }
+            index.topics.put(topic.key, topic);
+        }
+        return index;
+    }
+
+    /** Up to {@code limit} ids after {@code after}, from a sorted posting list. */
+    static List<Integer> page(int[] postings, int after, int limit) {
+        int from = Arrays.binarySearch(postings, after);
+        from = from >= 0 ? from + 1 : -from - 1;
+        List<Integer> ids = new ArrayList<>(Math.min(limit, postings.length - from));
+        for (int i = from; i < postings.length && ids.size() < limit; i++) {
+            ids.add(postings[i]);
+        }
+        return ids;
+    }
+
+    private static int[] insert(int[] postings, int id) {
+        int at = Arrays.binarySearch(postings, id);
+        if (at >= 0) {
+            return postings;
+        }
+        at = -at - 1;
+        int[] copy = new int[postings.length + 1];
+        System.arraycopy(postings, 0, copy, 0, at);
+        copy[at] = id;
+        System.arraycopy(postings, at, copy, at + 1, postings.length - at);
+        return copy;
+    }
+
+    private static int[] delete(int[] postings, int id) {
+        int at = Arrays.binarySearch(postings, id);
+        if (at < 0) {
+            return postings;
+        }
+        int[] copy = new int[postings.length - 1];
+        System.arraycopy(postings, 0, copy, 0, at);
+        System.arraycopy(postings, at + 1, copy, at, postings.length - at - 1);
+        return copy;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] sorted() {
+            int[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.skillpath.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Topic search across every user's roadmap: prefix autocomplete over topic
+ * names and the learners of a topic, optionally only those whose active node
+ * covers it. Answers come from an in-memory {@link TopicIndex} built after
+ * startup, updated by {@link #roadmapSaved} on every roadmap write of this
+ * node, and rebuilt every {@code app.topicIndexRefreshMs} to pick up writes
+ * made on other nodes.
+ */
+@Service
+public class TopicIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicIndexService.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MAX_TOPIC_LENGTH = 100;
+    private static final String[] NO_TOPICS = new String[0];
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate scanTransaction;
+
+    // Only this node's writes until the first build
+    private volatile TopicIndex index = new TopicIndex();
+    private volatile boolean ready;
+    // Writes seen while a build scans the table, applied over the scan before it goes live; guarded by this
+    private Map<Integer, TopicIndex.Learner> pendingLearners;
+    private Map<Integer, String> pendingRenames;
+    private Map<String, String> pendingNames;
+
+    public TopicIndexService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(1000);
+        // Not read-only, so the scan runs on the primary: a lagging replica would miss roadmaps saved
+        // just before the rebuild started capturing this node's writes
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        Gauge.builder("skillpath.topics.indexed", this, service -> service.index.topicCount())
+                .description("Distinct roadmap topics in the search index")
+                .register(meterRegistry);
+        Gauge.builder("skillpath.topics.learners", this, service -> service.index.learnerCount())
+                .description("Users with at least one roadmap topic in the search index")
+                .register(meterRegistry);
+    }
+
+    /** False until the first build has scanned every roadmap. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Call after a user's roadmap is written on this node. */
+    public synchronized void roadmapSaved(long userId, String username, String roadmapJson) {
+        if (userId > Integer.MAX_VALUE) {
+            // Posting lists hold int ids
+            return;
+        }
+        int id = (int) userId;
+        Map<String, String> names = new HashMap<>();
+        TopicIndex.Learner learner = readTopics(username, roadmapJson, names, new HashMap<>());
+        index.put(id, learner, names);
+        if (pendingLearners != null) {
+            pendingLearners.put(id, learner);
+            names.forEach(pendingNames::putIfAbsent);
+        }
+    }
+
+    /** Call after a user's username changes on this node. */
+    public synchronized void userRenamed(long userId, String username) {
+        if (userId > Integer.MAX_VALUE) {
+            return;
+        }
+        int id = (int) userId;
+        index.rename(id, username);
+        if (pendingRenames != null) {
+            pendingRenames.put(id, username);
+        }
+    }
+
+    /** Topics starting with the prefix, most learners first. */
+    public List<TopicSummary> complete(String prefix, int limit) {
+        List<TopicIndex.Topic> matches = new ArrayList<>(index.withPrefix(TopicIndex.normalize(prefix)).values());
+        matches.sort(Comparator.comparingInt((TopicIndex.Topic topic) -> topic.learners.length).reversed()
+                .thenComparing(topic -> topic.key));
+        List<TopicSummary> summaries = new ArrayList<>(Math.min(limit, matches.size()));
+        for (TopicIndex.Topic topic : matches.subList(0, Math.min(limit, matches.size()))) {
+            summaries.add(new TopicSummary(topic.name, topic.learners.length, topic.active.length));
+        }
+        return summaries;
+    }
+
+    /** A page of the topic's learners in user id order, or null if no roadmap mentions the topic. */
+    public LearnerPage learners(String topicName, boolean activeOnly, long after, int limit) {
+        TopicIndex current = index;
+        TopicIndex.Topic topic = current.topic(TopicIndex.normalize(topicName));
+        if (topic == null) {
+            return null;
+        }
+        int[] postings = activeOnly ? topic.active : topic.learners;
+        int from = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, after));
+        List<LearnerSummary> learners = new ArrayList<>();
+        for (int id : TopicIndex.page(postings, from, limit)) {
+            TopicIndex.Learner learner = current.learner(id);
+            learners.add(new LearnerSummary(id, learner != null ? learner.username : null));
+        }
+        Long nextAfter = learners.size() == limit ? learners.get(learners.size() - 1).getId() : null;
+        return new LearnerPage(new TopicSummary(topic.name, topic.learners.length, topic.active.length),
+                learners, nextAfter);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.topicIndexRefreshMs:600000}", fixedDelayString = "${app.topicIndexRefreshMs:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (pendingLearners != null) {
+                return;
+            }
+            pendingLearners = new HashMap<>();
+            pendingRenames = new HashMap<>();
+            pendingNames = new HashMap<>();
+        }
+        long start = System.nanoTime();
+        try {
+            Map<Integer, TopicIndex.Learner> scanned = new HashMap<>();
+            Map<String, String> names = new HashMap<>();
+            // Shares one String per topic across all users
+            Map<String, String> keys = new HashMap<>();
+            scanTransaction.executeWithoutResult(status ->
+                    cursorTemplate.query("SELECT id, username, roadmap_json FROM users WHERE roadmap_json IS NOT NULL",
+                            (RowCallbackHandler) rs -> {
+                                long id = rs.getLong(1);
+                                TopicIndex.Learner learner = readTopics(rs.getString(2), rs.getString(3), names, keys);
+                                if (id <= Integer.MAX_VALUE && !learner.isEmpty()) {
+                                    scanned.put((int) id, learner);
+                                }
+                            }));
+            TopicIndex next;
+            synchronized (this) {
+                scanned.putAll(pendingLearners);
+                pendingRenames.forEach((id, username) -> scanned.computeIfPresent(id,
+                        (key, learner) -> learner.withUsername(username)));
+                pendingNames.forEach(names::putIfAbsent);
+                next = TopicIndex.build(scanned, names);
+                index = next;
+                ready = true;
+            }
+            logger.info("Topic index built over {} learners and {} topics in {} ms",
+                    next.learnerCount(), next.topicCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Keep answering from the previous index
+            logger.warn("Topic index rebuild failed: {}", e.toString());
+        } finally {
+            synchronized (this) {
+                pendingLearners = null;
+                pendingRenames = null;
+                pendingNames = null;
+            }
+        }
+    }
+
+    /**
+     * Normalized topics of all nodes, and of the active node, read with a
+     * streaming parser. Records each topic's first spelling in {@code names}.
+     * A roadmap that is not what the UI writes yields no topics.
+     */
+    static TopicIndex.Learner readTopics(String username, String roadmapJson, Map<String, String> names,
+                                         Map<String, String> keys) {
+        if (roadmapJson == null) {
+            return new TopicIndex.Learner(username, NO_TOPICS, NO_TOPICS);
+        }
+        TreeSet<String> topics = new TreeSet<>();
+        TreeSet<String> active = new TreeSet<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(roadmapJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new TopicIndex.Learner(username, NO_TOPICS, NO_TOPICS);
+            }
+            List<String> nodeTopics = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!"nodes".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonToken node;
+                while ((node = parser.nextToken()) != JsonToken.END_ARRAY && node != null) {
+                    if (node != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    boolean isActive = false;
+                    nodeTopics.clear();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String nodeField = parser.getCurrentName();
+                        JsonToken nodeValue = parser.nextToken();
+                        if ("status".equals(nodeField)) {
+                            isActive = "active".equals(parser.getValueAsString());
+                        } else if ("topics".equals(nodeField) && nodeValue == JsonToken.START_ARRAY) {
+                            JsonToken item;
+                            while ((item = parser.nextToken()) != JsonToken.END_ARRAY && item != null) {
+                                if (item == JsonToken.VALUE_STRING) {
+                                    nodeTopics.add(parser.getText());
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                            continue;
+                        }
+                        parser.skipChildren();
+                    }
+                    for (String name : nodeTopics) {
+                        String key = TopicIndex.normalize(name);
+                        if (key.isEmpty() || key.length() > MAX_TOPIC_LENGTH) {
+                            continue;
+                        }
+                        key = keys.computeIfAbsent(key, k -> k);
+                        names.putIfAbsent(key, TopicIndex.displayName(name));
+                        topics.add(key);
+                        if (isActive) {
+                            active.add(key);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return new TopicIndex.Learner(username, NO_TOPICS, NO_TOPICS);
+        }
+        return new TopicIndex.Learner(username, topics.toArray(NO_TOPICS), active.toArray(NO_TOPICS));
+    }
+
+    public static class TopicSummary {
+        private final String topic;
+        private final int learners;
+        private final int active;
+
+        public TopicSummary(String topic, int learners, int active) {
+            this.topic = topic;
+            this.learners = learners;
+            this.active = active;
+        }
+        public String getTopic() { return topic; }
+        public int getLearners() { return learners; }
+        public int getActive() { return active; }
+    }
+
+    public static class LearnerSummary {
+        private final long id;
+        private final String username;
+
+        public LearnerSummary(long id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+        public long getId() { return id; }
+        public String getUsername() { return username; }
+    }
+
+    public static class LearnerPage {
+        private final TopicSummary topic;
+        private final List<LearnerSummary> learners;
+        private final Long nextAfter;
+
+        public LearnerPage(TopicSummary topic, List<LearnerSummary> learners, Long nextAfter) {
+            this.topic = topic;
+            this.learners = learners;
+            this.nextAfter = nextAfter;
+        }
+        public TopicSummary getTopic() { return topic; }
+        public List<LearnerSummary> getLearners() { return learners; }
+        public Long getNextAfter() { return nextAfter; }
+    }
+}
@@ -0,0 +1,320 @@
+package com.skillpath.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Imports a cohort of users from CSV ({@code username,email,password} header)
+ * or NDJSON, chunk by chunk so the upload is never held in memory. Per chunk,
+ * existing usernames and emails are looked up with one query each, passwords
+ * are hashed in parallel on a bounded pool, and rows go in as JDBC batches with
+ * ids reserved from the sequence up front (IDENTITY inserts cannot be
+ * batched). Bad or conflicting rows are reported and skipped; the rest of the
+ * import carries on.
+ */
+@Service
+public class UserImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    public interface ImportListener {
+        void rowFailed(long line, String error);
+
+        void chunkDone(ImportProgress progress);
+    }
+
+    private static final String ROLE_USER = "ROLE_USER";
+    // users.username and users.email are VARCHAR(255)
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder encoder;
+    private final ObjectMapper objectMapper;
+    private final AvailabilityService availabilityService;
+    private final ExecutorService hashPool;
+    private final int chunkSize;
+
+    public UserImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             PasswordEncoder encoder, ObjectMapper objectMapper,
+                             AvailabilityService availabilityService,
+                             @Value("${app.adminImportChunkSize:500}") int chunkSize,
+                             @Value("${app.adminImportHashThreads:0}") int hashThreads) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.encoder = encoder;
+        this.objectMapper = objectMapper;
+        this.availabilityService = availabilityService;
+        this.chunkSize = chunkSize;
+        // BCrypt is CPU bound; shared by all imports so they cannot starve request threads together
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Reads up to the CSV header and checks it, before anything is imported or
+     * written back, so a bad upload can still be rejected as a whole.
+     */
+    public Upload open(BufferedReader reader, Format format) throws IOException {
+        Upload upload = new Upload(reader, format);
+        if (format != Format.CSV) {
+            return upload;
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            upload.lineNumber++;
+            if (!line.isBlank()) {
+                upload.csvColumns = CsvLine.header(line, "username", "email", "password");
+                return upload;
+            }
+        }
+        throw new IllegalArgumentException("Empty upload: expected a username,email,password header");
+    }
+
+    /** Imports the rows after the header. Totals so far stay readable from the upload if this throws. */
+    public ImportProgress importUsers(Upload upload, ImportListener listener) throws IOException {
+        ImportProgress progress = upload.progress;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        String line;
+        while ((line = upload.reader.readLine()) != null) {
+            long lineNumber = ++upload.lineNumber;
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.rows++;
+            ImportRow row;
+            try {
+                row = upload.format == Format.CSV ? csvRow(lineNumber, line, upload.csvColumns) : jsonRow(lineNumber, line);
+            } catch (IllegalArgumentException e) {
+                fail(progress, listener, lineNumber, e.getMessage());
+                continue;
+            }
+            // Duplicates inside the upload are caught here, against the database per chunk
+            if (!seenUsernames.add(row.username)) {
+                fail(progress, listener, lineNumber, "Duplicate username in upload");
+                continue;
+            }
+            if (!seenEmails.add(row.email)) {
+                fail(progress, listener, lineNumber, "Duplicate email in upload");
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress, listener);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress, listener);
+        }
+        return progress;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportProgress progress, ImportListener listener) {
+        Set<String> takenUsernames = existing("username", chunk.stream().map(row -> row.username).toList());
+        Set<String> takenEmails = existing("email", chunk.stream().map(row -> row.email).toList());
+        List<ImportRow> toInsert = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (takenUsernames.contains(row.username)) {
+                fail(progress, listener, row.line, "Username is already taken");
+            } else if (takenEmails.contains(row.email)) {
+                fail(progress, listener, row.line, "Email is already in use");
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        List<CompletableFuture<Void>> hashes = new ArrayList<>(toInsert.size());
+        for (ImportRow row : toInsert) {
+            hashes.add(CompletableFuture.runAsync(() -> row.passwordHash = encoder.encode(row.password), hashPool));
+        }
+        CompletableFuture.allOf(hashes.toArray(new CompletableFuture[0])).join();
+
+        if (!toInsert.isEmpty()) {
+            int[] inserted;
+            try {
+                inserted = transactionTemplate.execute(status -> insert(toInsert));
+            } catch (DataIntegrityViolationException e) {
+                // One row the checks let through rolled back the whole batch
+                inserted = insertOneByOne(toInsert, progress, listener);
+            }
+            for (int i = 0; i < toInsert.size(); i++) {
+                if (inserted[i] == 1) {
+                    progress.imported++;
+                    availabilityService.addUser(toInsert.get(i).username, toInsert.get(i).email);
+                } else if (inserted[i] == 0) {
+                    // Taken between the lookup and the insert, e.g. by a concurrent signup
+                    fail(progress, listener, toInsert.get(i).line, "Username or email is already in use");
+                }
+            }
+        }
+        listener.chunkDone(progress);
+    }
+
+    private Set<String> existing(String column, List<String> values) {
+        // column is one of two constants, never user input
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT " + column + " FROM users WHERE " + column + " IN (:values)",
+                Map.of("values", values), String.class));
+    }
+
+    // -1 for rows the database rejected, already reported
+    private int[] insertOneByOne(List<ImportRow> rows, ImportProgress progress, ImportListener listener) {
+        int[] inserted = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            try {
+                inserted[i] = transactionTemplate.execute(status -> insert(List.of(row)))[0];
+            } catch (DataIntegrityViolationException e) {
+                inserted[i] = -1;
+                fail(progress, listener, row.line, "Rejected by the database");
+            }
+        }
+        return inserted;
+    }
+
+    private int[] insert(List<ImportRow> rows) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('users', 'id')) FROM generate_series(1, ?)", Long.class, rows.size());
+        List<Object[]> userArgs = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            userArgs.add(new Object[] { ids.get(i), row.username, row.email, row.passwordHash });
+        }
+        // A conflicting row counts 0 instead of failing the batch
+        int[] inserted = jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, username, email, password) VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING", userArgs);
+        List<Object[]> roleArgs = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (inserted[i] == 1) {
+                roleArgs.add(new Object[] { ids.get(i), ROLE_USER });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, roles) VALUES (?, ?)", roleArgs);
+        return inserted;
+    }
+
+    private static void fail(ImportProgress progress, ImportListener listener, long line, String error) {
+        progress.failed++;
+        listener.rowFailed(line, error);
+    }
+
+    private static ImportRow csvRow(long line, String text, Map<String, Integer> columns) {
+        List<String> fields = CsvLine.split(text);
+        return new ImportRow(line, field(fields, columns.get("username")), field(fields, columns.get("email")),
+                field(fields, columns.get("password")));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private ImportRow jsonRow(long line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON");
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return new ImportRow(line, node.path("username").asText(null), node.path("email").asText(null),
+                node.path("password").asText(null));
+    }
+
+    private static class ImportRow {
+        final long line;
+        final String username;
+        final String email;
+        final String password;
+        volatile String passwordHash;
+
+        ImportRow(long line, String username, String email, String password) {
+            if (username == null || username.isBlank()) {
+                throw new IllegalArgumentException("Missing username");
+            }
+            if (email == null || !email.contains("@")) {
+                throw new IllegalArgumentException("Missing or invalid email");
+            }
+            if (password == null || password.isEmpty()) {
+                throw new IllegalArgumentException("Missing password");
+            }
+            if (username.trim().length() > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Username is longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            if (email.trim().length() > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Email is longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            this.line = line;
+            this.username = username.trim();
+            this.email = email.trim();
+            this.password = password;
+        }
+    }
+
+    public static class Upload {
+        private final BufferedReader reader;
+        private final Format format;
+        private final ImportProgress progress = new ImportProgress();
+        private Map<String, Integer> csvColumns;
+        private long lineNumber;
+
+        private Upload(BufferedReader reader, Format format) {
+            this.reader = reader;
+            this.format = format;
+        }
+
+        public ImportProgress getProgress() { return progress; }
+        public long getLineNumber() { return lineNumber; }
+    }
+
+    public static class ImportProgress {
+        private long rows;
+        private long imported;
+        private long failed;
+
+        public long getRows() { return rows; }
+        public long getImported() { return imported; }
+        public long getFailed() { return failed; }
+    }
+}
@@ -2,22 +2,40 @@ package com.skillpath.service;
 
 import com.skillpath.model.User;
 import com.skillpath.repository.UserRepository;
+import com.skillpath.snapshot.SnapshotParticipant;
+import com.skillpath.snapshot.SnapshotReader;
+import com.skillpath.snapshot.SnapshotWriter;
+import com.skillpath.websocket.cluster.ClusterMessagingService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-public class UserMetricsService {
+public class UserMetricsService implements SnapshotParticipant {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserMetricsService.class);
+
+    private static final int RECONCILE_BATCH = 1000;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private ClusterMessagingService messagingService;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     // In-memory store for demo purposes. In a real app, this would be in the database.
     private final Map<String, Integer> userXp = new ConcurrentHashMap<>();
     private final Map<String, Integer> userStreak = new ConcurrentHashMap<>();
@@ -42,7 +60,62 @@ public class UserMetricsService {
     }
 
     private void sendMetricsUpdate(String userEmail, int xp, int streak) {
+        // Nobody is listening, so skip building and routing the frame
+        if (!messagingService.isUserReachable(userEmail)) {
+            return;
+        }
         Map<String, Object> payload = Map.of("xp", xp, "streak", streak);
-        messagingTemplate.convertAndSendToUser(userEmail, "/queue/metrics", payload);
+        Observation.createNotStarted("skillpath.ws.metrics.send", observationRegistry)
+                .observe(() -> messagingService.convertAndSendToUser(userEmail, "/queue/metrics", payload));
+    }
+
+    @Override
+    public String snapshotSection() {
+        return "user-metrics";
+    }
+
+    @Override
+    public int snapshotVersion() {
+        return 1;
+    }
+
+    // One record per user: email, xp, streak
+    @Override
+    public void writeSnapshot(SnapshotWriter out) {
+        for (Map.Entry<String, Integer> entry : userXp.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeInt(entry.getValue());
+            out.writeInt(userStreak.getOrDefault(entry.getKey(), 0));
+        }
+    }
+
+    @Override
+    public void restoreSnapshot(SnapshotReader in) {
+        while (in.hasRemaining()) {
+            String email = in.readString();
+            int xp = in.readInt();
+            int streak = in.readInt();
+            userXp.putIfAbsent(email, xp);
+            userStreak.putIfAbsent(email, streak);
+        }
+    }
+
+    @Override
+    public void reconcileSnapshot() {
+        // Drop users deleted, or whose email changed, while the snapshot was on disk
+        List<String> emails = new ArrayList<>(userXp.keySet());
+        int dropped = 0;
+        for (int from = 0; from < emails.size(); from += RECONCILE_BATCH) {
+            List<String> batch = emails.subList(from, Math.min(from + RECONCILE_BATCH, emails.size()));
+            Set<String> existing = new HashSet<>(userRepository.findExistingEmails(batch));
+            for (String email : batch) {
+                if (!existing.contains(email)) {
+                    userXp.remove(email);
+                    userStreak.remove(email);
+                    dropped++;
+                }
+            }
+        }
+        logger.info("Reconciled {} restored user metrics, dropped {}", emails.size(), dropped);
     }
-}
\ No newline at end of file
+}
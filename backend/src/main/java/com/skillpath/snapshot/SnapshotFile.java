@@ -0,0 +1,161 @@
+package com.skillpath.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Two memory-mapped slot files, {@code <path>.0} and {@code <path>.1}, written
+ * alternately. Each holds a 32-byte header and the payload:
+ *
+ * <pre>
+ *  0  int   magic
+ *  4  int   format version
+ *  8  long  generation
+ * 16  long  written at (epoch ms)
+ * 24  int   payload length
+ * 28  int   CRC32C of bytes 0-27 and the payload
+ * 32  payload
+ * </pre>
+ *
+ * A write goes to the slot that does not hold the newest snapshot, and its
+ * header is written and flushed only after the payload, so a crash mid-write
+ * leaves a slot that fails its checksum and the other slot is used.
+ */
+final class SnapshotFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotFile.class);
+
+    private static final int MAGIC = 0x53505331;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final Path[] slots;
+    private long generation;
+    private int nextSlot;
+
+    SnapshotFile(Path path) {
+        this.slots = new Path[] {
+                path.resolveSibling(path.getFileName() + ".0"),
+                path.resolveSibling(path.getFileName() + ".1")
+        };
+    }
+
+    /** The newest intact snapshot, mapped read-only, or null if there is none. */
+    Snapshot load() {
+        Snapshot newest = null;
+        for (int slot = 0; slot < slots.length; slot++) {
+            Snapshot snapshot = read(slots[slot]);
+            if (snapshot != null && (newest == null || snapshot.generation > newest.generation)) {
+                newest = snapshot;
+                nextSlot = 1 - slot;
+            }
+        }
+        if (newest != null) {
+            generation = newest.generation;
+        }
+        return newest;
+    }
+
+    private Snapshot read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                logger.warn("Ignoring snapshot {}: truncated header", file);
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int length = mapped.getInt(24);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION
+                    || length < 0 || length > size - HEADER_BYTES) {
+                logger.warn("Ignoring snapshot {}: unknown format or truncated payload", file);
+                return null;
+            }
+            ByteBuffer payload = mapped.slice(HEADER_BYTES, length);
+            if (checksum(mapped, payload) != mapped.getInt(28)) {
+                logger.warn("Ignoring snapshot {}: checksum mismatch", file);
+                return null;
+            }
+            return new Snapshot(mapped.getLong(8), mapped.getLong(16), payload);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Could not read snapshot {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /** Writes the payload as the next generation; false if another process holds the slot. */
+    boolean write(ByteBuffer payload) throws IOException {
+        Path file = slots[nextSlot];
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        int length = payload.remaining();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return false;
+            }
+            try {
+                long size = HEADER_BYTES + (long) length;
+                if (channel.size() > size) {
+                    channel.truncate(size);
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                // Invalidate the old header before touching its payload
+                mapped.putInt(0, 0);
+                mapped.force(0, HEADER_BYTES);
+                mapped.put(HEADER_BYTES, payload, payload.position(), length);
+                mapped.force();
+                mapped.putInt(0, MAGIC);
+                mapped.putInt(4, FORMAT_VERSION);
+                mapped.putLong(8, generation + 1);
+                mapped.putLong(16, System.currentTimeMillis());
+                mapped.putInt(24, length);
+                mapped.putInt(28, checksum(mapped, mapped.slice(HEADER_BYTES, length)));
+                mapped.force(0, HEADER_BYTES);
+            } finally {
+                lock.release();
+            }
+        }
+        generation++;
+        nextSlot = 1 - nextSlot;
+        return true;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    private static int checksum(ByteBuffer header, ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.duplicate().position(0).limit(28));
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    static final class Snapshot {
+        final long generation;
+        final long writtenAtMs;
+        final ByteBuffer payload;
+
+        Snapshot(long generation, long writtenAtMs, ByteBuffer payload) {
+            this.generation = generation;
+            this.writtenAtMs = writtenAtMs;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.skillpath.snapshot;
+
+/**
+ * In-process state that {@link SnapshotService} saves periodically and
+ * restores on the next start. A section is only restored when its name and
+ * version match what was written, so bump the version whenever the layout
+ * written by {@link #writeSnapshot} changes.
+ */
+public interface SnapshotParticipant {
+
+    String snapshotSection();
+
+    int snapshotVersion();
+
+    /** Called on a scheduler thread while requests keep updating the state. */
+    void writeSnapshot(SnapshotWriter out);
+
+    /** Called once on startup, before the server takes requests. */
+    void restoreSnapshot(SnapshotReader in);
+
+    /** Called in the background after startup if the section was restored, to drop state the database no longer backs. */
+    default void reconcileSnapshot() {
+    }
+}
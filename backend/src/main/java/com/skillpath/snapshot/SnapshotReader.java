@@ -0,0 +1,48 @@
+package com.skillpath.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Reads what {@link SnapshotWriter} wrote, straight from the mapped file. */
+public final class SnapshotReader {
+
+    private final ByteBuffer buffer;
+
+    SnapshotReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Malformed string in snapshot");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed length in snapshot");
+    }
+}
@@ -0,0 +1,181 @@
+package com.skillpath.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Saves every {@link SnapshotParticipant} to {@code app.snapshotPath} every
+ * {@code app.snapshotIntervalMs} and on shutdown, and restores them on the
+ * next start before the server takes requests, so a redeployed node does
+ * not start cold. Restored sections are reconciled against the database in
+ * the background once the application is ready. Each node needs its own
+ * path; an empty path turns snapshots off.
+ *
+ * <p>The payload is a section count followed by, per section, its name,
+ * version, byte length and the participant's bytes.
+ */
+@Component
+public class SnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final List<SnapshotParticipant> participants;
+    private final SnapshotFile file;
+    private final Timer writeTimer;
+    private final List<SnapshotParticipant> restored = new ArrayList<>();
+
+    // Checksum of the last payload written or restored; an unchanged payload is not written again
+    private int lastChecksum;
+    private boolean started;
+
+    public SnapshotService(List<SnapshotParticipant> participants, MeterRegistry meterRegistry,
+                           @Value("${app.snapshotPath:}") String path) {
+        this.participants = participants;
+        this.file = path.isBlank() ? null : new SnapshotFile(Path.of(path));
+        this.writeTimer = Timer.builder("skillpath.snapshot.write")
+                .description("Time to serialize and write an in-process state snapshot")
+                .register(meterRegistry);
+    }
+
+    // Participants are created before this bean, and the server starts after it
+    @PostConstruct
+    public synchronized void start() {
+        if (file == null) {
+            return;
+        }
+        try {
+            restore();
+            lastChecksum = checksum(serialize());
+        } catch (RuntimeException e) {
+            // Start cold rather than not at all
+            logger.warn("Could not restore snapshot: {}", e.toString());
+        }
+        started = true;
+    }
+
+    private void restore() {
+        long start = System.nanoTime();
+        SnapshotFile.Snapshot snapshot = file.load();
+        if (snapshot == null) {
+            logger.info("No snapshot to restore");
+            return;
+        }
+        Map<String, SnapshotParticipant> byName = new HashMap<>();
+        for (SnapshotParticipant participant : participants) {
+            byName.put(participant.snapshotSection(), participant);
+        }
+        ByteBuffer payload = snapshot.payload.duplicate();
+        SnapshotReader header = new SnapshotReader(payload);
+        int sections = header.readInt();
+        for (int i = 0; i < sections; i++) {
+            String name = header.readString();
+            int version = header.readInt();
+            int length = header.readInt();
+            ByteBuffer body = payload.slice(payload.position(), length);
+            payload.position(payload.position() + length);
+            SnapshotParticipant participant = byName.get(name);
+            if (participant == null || participant.snapshotVersion() != version) {
+                logger.info("Skipping snapshot section {} v{}: no participant for that version", name, version);
+                continue;
+            }
+            try {
+                participant.restoreSnapshot(new SnapshotReader(body));
+                restored.add(participant);
+            } catch (RuntimeException e) {
+                logger.warn("Could not restore snapshot section {}: {}", name, e.toString());
+            }
+        }
+        logger.info("Restored {} of {} snapshot sections from generation {} ({} KB, {} s old) in {} ms",
+                restored.size(), sections, snapshot.generation, snapshot.payload.remaining() / 1024,
+                (System.currentTimeMillis() - snapshot.writtenAtMs) / 1000,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        List<SnapshotParticipant> sections;
+        synchronized (this) {
+            sections = new ArrayList<>(restored);
+            restored.clear();
+        }
+        for (SnapshotParticipant participant : sections) {
+            try {
+                participant.reconcileSnapshot();
+            } catch (RuntimeException e) {
+                logger.warn("Could not reconcile snapshot section {}: {}", participant.snapshotSection(), e.toString());
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.snapshotIntervalMs:30000}", fixedDelayString = "${app.snapshotIntervalMs:30000}")
+    public synchronized void write() {
+        if (!started) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ByteBuffer payload = serialize();
+            int checksum = checksum(payload);
+            if (checksum == lastChecksum) {
+                return;
+            }
+            if (!file.write(payload)) {
+                logger.warn("Snapshot not written: another process holds the file");
+                return;
+            }
+            lastChecksum = checksum;
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.debug("Wrote snapshot generation {} ({} bytes)", file.generation(), payload.remaining());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write snapshot: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        write();
+    }
+
+    private ByteBuffer serialize() {
+        SnapshotWriter out = new SnapshotWriter();
+        out.writeInt(participants.size());
+        for (SnapshotParticipant participant : participants) {
+            out.writeString(participant.snapshotSection());
+            out.writeInt(participant.snapshotVersion());
+            int lengthAt = out.position();
+            out.writeInt(0);
+            participant.writeSnapshot(out);
+            out.putInt(lengthAt, out.position() - lengthAt - 4);
+        }
+        return out.contents();
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+}
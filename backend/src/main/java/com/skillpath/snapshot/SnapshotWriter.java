@@ -0,0 +1,54 @@
+package com.skillpath.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Appends fixed-width primitives and length-prefixed UTF-8 strings to a growing buffer. */
+public final class SnapshotWriter {
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    public void writeInt(int value) {
+        ensure(4).putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensure(8).putLong(value);
+    }
+
+    public void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        ensure(bytes.length).put(bytes);
+    }
+
+    private void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    void putInt(int position, int value) {
+        buffer.putInt(position, value);
+    }
+
+    ByteBuffer contents() {
+        return buffer.duplicate().flip();
+    }
+
+    private ByteBuffer ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            larger.put(buffer.flip());
+            buffer = larger;
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,83 @@
+package com.skillpath.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.controller.UserController.RoadmapDto;
+import com.skillpath.controller.UserController.RoadmapNodeDto;
+import com.skillpath.repository.UserRepository;
+import com.skillpath.security.jwt.JwtUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Exercises the first-call paths of signin and node completion (JWT signing
+ * key, Jackson serializers, connection pool and Hibernate query plans) once the
+ * application is up. {@link CacheWarmupHealthIndicator} keeps the readiness
+ * probe out of service until this has run, so a new node does not take
+ * traffic while cold.
+ */
+@Component
+public class CacheWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmup.class);
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile boolean warm;
+    private volatile long warmAtMillis;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            String token = jwtUtils.generateTokenFromUsername("warmup", List.of("ROLE_USER"));
+            jwtUtils.parseVerifiedClaims(token);
+
+            RoadmapNodeDto node = new RoadmapNodeDto();
+            node.setId("warmup");
+            node.setTopics(List.of("warmup"));
+            RoadmapDto roadmap = new RoadmapDto();
+            roadmap.setNodes(List.of(node));
+            objectMapper.readValue(objectMapper.writeValueAsString(roadmap), RoadmapDto.class);
+
+            userRepository.existsByUsername("warmup");
+            userRepository.findByEmail("warmup");
+        } catch (Exception e) {
+            // Only an optimization; a failure here will show up on the real request too
+            logger.warn("Cache warm-up failed: {}", e.toString());
+        }
+
+        warmAtMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        warm = true;
+        TimeGauge.builder("skillpath.startup.warm.time", this, TimeUnit.MILLISECONDS, warmup -> warmup.warmAtMillis)
+                .description("Time from JVM start until caches were warm and readiness went UP")
+                .register(meterRegistry);
+        logger.info("Caches warm {} ms after JVM start", warmAtMillis);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+}
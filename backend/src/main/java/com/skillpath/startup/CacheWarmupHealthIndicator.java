@@ -0,0 +1,21 @@
+package com.skillpath.startup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reported as {@code cacheWarmup}; part of the readiness group.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private CacheWarmup cacheWarmup;
+
+    @Override
+    public Health health() {
+        return cacheWarmup.isWarm() ? Health.up().build() : Health.outOfService().withDetail("reason", "warming caches").build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.skillpath.startup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Records when the first API request finished, measured from JVM start, as
+ * {@code skillpath.startup.first.request.time}. Probe and actuator requests do
+ * not count.
+ */
+@Component
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private volatile long firstRequestMillis;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return recorded.get() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (recorded.compareAndSet(false, true)) {
+            firstRequestMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            TimeGauge.builder("skillpath.startup.first.request.time", this, TimeUnit.MILLISECONDS, timer -> timer.firstRequestMillis)
+                    .description("Time from JVM start until the first API request completed")
+                    .register(meterRegistry);
+            logger.info("First API request completed {} ms after JVM start", firstRequestMillis);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillpath.tutor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Streams replies from the Gemini {@code streamGenerateContent} API as
+ * server-sent events. The request and the response body go through the JDK
+ * HttpClient's asynchronous API, so waiting on the model holds no thread.
+ */
+public class GeminiTutorModelClient implements TutorModelClient {
+
+    static final String SYSTEM_INSTRUCTION = "You are an expert technical mentor and career coach named 'SkillPath Bot'. "
+            + "You provide concise, encouraging, and technically accurate advice. You prefer practical examples. "
+            + "Keep responses under 200 words unless asked for deep detail.";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI uri;
+    private final String apiKey;
+    private final Duration timeout;
+
+    public GeminiTutorModelClient(ObjectMapper objectMapper, String baseUrl, String model, String apiKey, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        this.objectMapper = objectMapper;
+        this.uri = URI.create(baseUrl + "/v1beta/models/" + model + ":streamGenerateContent?alt=sse");
+        this.apiKey = apiKey;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public StreamHandle streamReply(List<TutorMessage> conversation, ReplyListener listener) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("x-goog-api-key", apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody(conversation)))
+                .build();
+        EventLineSubscriber lines = new EventLineSubscriber(listener);
+        CompletableFuture<HttpResponse<Void>> response = httpClient.sendAsync(request, info -> {
+            if (info.statusCode() == 200) {
+                return BodySubscribers.fromLineSubscriber(lines);
+            }
+            // Error bodies are small; report them whole
+            return BodySubscribers.mapping(BodySubscribers.ofString(StandardCharsets.UTF_8), body -> {
+                lines.fail(new IllegalStateException("Model returned HTTP " + info.statusCode() + ": " + body));
+                return null;
+            });
+        });
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                lines.fail(error);
+            }
+        });
+        return () -> {
+            lines.cancel();
+            response.cancel(true);
+        };
+    }
+
+    private String requestBody(List<TutorMessage> conversation) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("systemInstruction").putArray("parts").addObject().put("text", SYSTEM_INSTRUCTION);
+        ArrayNode contents = body.putArray("contents");
+        for (TutorMessage message : conversation) {
+            ObjectNode content = contents.addObject();
+            content.put("role", message.getRole());
+            content.putArray("parts").addObject().put("text", message.getText());
+        }
+        return body.toString();
+    }
+
+    /** Turns {@code data:} lines into tokens; each carries a JSON chunk of the reply. */
+    private class EventLineSubscriber implements Flow.Subscriber<String> {
+        private final ReplyListener listener;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+
+        EventLineSubscriber(ReplyListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (done.get() || !line.startsWith("data:")) {
+                return;
+            }
+            try {
+                JsonNode parts = objectMapper.readTree(line.substring(5)).path("candidates").path(0).path("content").path("parts");
+                for (JsonNode part : parts) {
+                    String text = part.path("text").asText("");
+                    if (!text.isEmpty()) {
+                        listener.onToken(text);
+                    }
+                }
+            } catch (Exception e) {
+                fail(e);
+                cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            fail(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done.compareAndSet(false, true)) {
+                listener.onComplete();
+            }
+        }
+
+        void fail(Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                listener.onError(error);
+            }
+        }
+
+        void cancel() {
+            done.set(true);
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillpath.tutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local model for development and load tests: the same conversation always
+ * gets the same reply, emitted a word at a time every {@code tokenDelayMs}.
+ * Every stream shares one scheduler thread.
+ */
+public class StubTutorModelClient implements TutorModelClient, AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+    private final long tokenDelayMs;
+
+    public StubTutorModelClient(long tokenDelayMs) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tutor-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tokenDelayMs = Math.max(1, tokenDelayMs);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public StreamHandle streamReply(List<TutorMessage> conversation, ReplyListener listener) {
+        List<String> tokens = tokenize(reply(conversation));
+        Emitter emitter = new Emitter(tokens, listener);
+        emitter.future = scheduler.scheduleWithFixedDelay(emitter, tokenDelayMs, tokenDelayMs, TimeUnit.MILLISECONDS);
+        return emitter::cancel;
+    }
+
+    static String reply(List<TutorMessage> conversation) {
+        String question = conversation.isEmpty() ? "" : conversation.get(conversation.size() - 1).getText().strip();
+        long earlierQuestions = conversation.stream().filter(message -> TutorMessage.USER.equals(message.getRole())).count() - 1;
+        return "Good question about \"" + question + "\". Start with the core concepts, then build a small project "
+                + "that uses them, and review what tripped you up. (stub reply " + (earlierQuestions + 1) + ")";
+    }
+
+    // Words with their trailing space, so the tokens concatenate back to the reply
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i - 1) == ' ') {
+                tokens.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static class Emitter implements Runnable {
+        private final List<String> tokens;
+        private final ReplyListener listener;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+        private int next;
+
+        Emitter(List<String> tokens, ReplyListener listener) {
+            this.tokens = tokens;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            if (next < tokens.size()) {
+                listener.onToken(tokens.get(next++));
+                return;
+            }
+            cancel();
+            listener.onComplete();
+        }
+
+        void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
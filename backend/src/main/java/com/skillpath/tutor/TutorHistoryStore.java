@@ -0,0 +1,155 @@
+package com.skillpath.tutor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tutor conversations per user. Messages are queued in memory and written in
+ * JDBC batches every {@code app.tutorHistoryFlushMs}, so a busy tutor costs a
+ * few inserts per second rather than two per exchange. Reads merge the queue
+ * with the table, so a message is visible as soon as it is appended.
+ */
+@Component
+public class TutorHistoryStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorHistoryStore.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tutor_messages (message_id, user_id, role, text, created_at_ms) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    // Stays queued until its batch has committed, so readers always see it in one place or the other
+    private final Queue<PendingMessage> pending = new ConcurrentLinkedQueue<>();
+
+    public TutorHistoryStore(DataSource dataSource, @Value("${app.tutorHistoryBatchSize:200}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchSize = batchSize;
+    }
+
+    public void append(long userId, TutorMessage message) {
+        pending.add(new PendingMessage(userId, message));
+    }
+
+    /** The user's last {@code limit} messages, oldest first. */
+    public List<TutorMessage> recent(long userId, int limit) {
+        List<TutorMessage> queued = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.userId == userId) {
+                queued.add(message.message);
+            }
+        }
+        // Not read-only, so it stays on the primary: a replica may lag behind the last flush
+        List<TutorMessage> stored = jdbcTemplate.query(
+                "SELECT message_id, role, text, created_at_ms FROM tutor_messages WHERE user_id = ? ORDER BY id DESC LIMIT ?",
+                (rs, rowNum) -> new TutorMessage(rs.getString(1), rs.getString(2), rs.getString(3), rs.getLong(4)),
+                userId, limit);
+        Collections.reverse(stored);
+        // A message flushed between the two reads shows up in both
+        Map<String, TutorMessage> merged = new LinkedHashMap<>();
+        for (TutorMessage message : stored) {
+            merged.put(message.getId(), message);
+        }
+        for (TutorMessage message : queued) {
+            merged.putIfAbsent(message.getId(), message);
+        }
+        List<TutorMessage> messages = new ArrayList<>(merged.values());
+        return messages.size() > limit ? messages.subList(messages.size() - limit, messages.size()) : messages;
+    }
+
+    public synchronized void clear(long userId) {
+        pending.removeIf(message -> message.userId == userId);
+        jdbcTemplate.update("DELETE FROM tutor_messages WHERE user_id = ?", userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tutorHistoryFlushMs:500}")
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            List<PendingMessage> batch = new ArrayList<>(batchSize);
+            for (PendingMessage message : pending) {
+                batch.add(message);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                        (ps, pendingMessage) -> bind(ps, pendingMessage));
+            } catch (DataIntegrityViolationException e) {
+                // e.g. the user was deleted meanwhile; write the rest one by one
+                if (!flushOneByOne(batch.size())) {
+                    return;
+                }
+                continue;
+            } catch (RuntimeException e) {
+                // Kept queued and retried on the next flush
+                logger.warn("Tutor history flush of {} messages failed: {}", batch.size(), e.toString());
+                return;
+            }
+            // Only flush and clear remove, both under this lock, and appends go to the tail,
+            // so the head is the batch just written
+            for (int i = 0; i < batch.size(); i++) {
+                pending.poll();
+            }
+        }
+    }
+
+    private boolean flushOneByOne(int count) {
+        for (int i = 0; i < count; i++) {
+            PendingMessage message = pending.peek();
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, message));
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Dropping tutor message {} of user {}: {}", message.message.getId(), message.userId, e.toString());
+            } catch (RuntimeException e) {
+                logger.warn("Tutor history flush failed: {}", e.toString());
+                return false;
+            }
+            pending.poll();
+        }
+        return true;
+    }
+
+    private static void bind(PreparedStatement ps, PendingMessage pendingMessage) throws SQLException {
+        TutorMessage message = pendingMessage.message;
+        ps.setString(1, message.getId());
+        ps.setLong(2, pendingMessage.userId);
+        ps.setString(3, message.getRole());
+        ps.setString(4, message.getText());
+        ps.setLong(5, message.getTimestamp());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static class PendingMessage {
+        final long userId;
+        final TutorMessage message;
+
+        PendingMessage(long userId, TutorMessage message) {
+            this.userId = userId;
+            this.message = message;
+        }
+    }
+}
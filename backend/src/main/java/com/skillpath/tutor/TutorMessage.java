@@ -0,0 +1,25 @@
+package com.skillpath.tutor;
+
+/** One turn of a tutor conversation, shaped like the frontend's {@code ChatMessage}. */
+public class TutorMessage {
+
+    public static final String USER = "user";
+    public static final String MODEL = "model";
+
+    private final String id;
+    private final String role;
+    private final String text;
+    private final long timestamp;
+
+    public TutorMessage(String id, String role, String text, long timestamp) {
+        this.id = id;
+        this.role = role;
+        this.text = text;
+        this.timestamp = timestamp;
+    }
+
+    public String getId() { return id; }
+    public String getRole() { return role; }
+    public String getText() { return text; }
+    public long getTimestamp() { return timestamp; }
+}
@@ -0,0 +1,28 @@
+package com.skillpath.tutor;
+
+import java.util.List;
+
+/**
+ * Streams a tutor reply for a conversation. Implementations must return
+ * without waiting for the model and deliver the reply through the listener
+ * from their own I/O or scheduler threads, so an open stream never holds a
+ * thread of its own. Callbacks for one stream arrive one at a time, ending
+ * with exactly one of {@code onComplete} or {@code onError} unless cancelled.
+ */
+public interface TutorModelClient {
+
+    StreamHandle streamReply(List<TutorMessage> conversation, ReplyListener listener);
+
+    interface ReplyListener {
+        void onToken(String text);
+
+        void onComplete();
+
+        void onError(Throwable error);
+    }
+
+    interface StreamHandle {
+        /** Stops the stream; no callbacks follow. Safe to call more than once. */
+        void cancel();
+    }
+}
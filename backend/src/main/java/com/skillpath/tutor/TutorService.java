@@ -0,0 +1,285 @@
+package com.skillpath.tutor;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Streams tutor replies to the browser as server-sent events: a {@code token}
+ * event per chunk of model output, then {@code done} with the whole reply
+ * (or {@code error}). The request thread is released as soon as the stream is
+ * set up, so an open stream holds a connection but no thread. Model callbacks
+ * only queue events; a small send pool writes them, one task per stream at a
+ * time, so a slow client never blocks the model client's shared threads. A
+ * client more than {@code app.tutorMaxQueuedEvents} events behind is dropped.
+ */
+@Service
+public class TutorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorService.class);
+
+    private final TutorModelClient modelClient;
+    private final TutorHistoryStore historyStore;
+    private final int contextMessages;
+    private final long streamTimeoutMs;
+    private final int maxQueuedEvents;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final Timer firstTokenTimer;
+    private final Counter droppedStreams;
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    public TutorService(TutorModelClient modelClient, TutorHistoryStore historyStore, MeterRegistry meterRegistry,
+                        @Value("${app.tutorContextMessages:20}") int contextMessages,
+                        @Value("${app.tutorStreamTimeoutMs:120000}") long streamTimeoutMs,
+                        @Value("${app.tutorMaxQueuedEvents:256}") int maxQueuedEvents,
+                        @Value("${app.tutorSendThreads:16}") int sendThreads,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.modelClient = modelClient;
+        this.historyStore = historyStore;
+        this.contextMessages = contextMessages;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxQueuedEvents = maxQueuedEvents;
+        // A write to a stalled client blocks its sender until the container's write timeout
+        this.sendExecutor = new ThreadPoolTaskExecutor();
+        sendExecutor.setThreadNamePrefix("tutor-send-");
+        sendExecutor.setCorePoolSize(sendThreads);
+        sendExecutor.setMaxPoolSize(sendThreads);
+        sendExecutor.setDaemon(true);
+        if (virtualThreads) {
+            sendExecutor.setThreadFactory(new VirtualThreadTaskExecutor("tutor-send-").getVirtualThreadFactory());
+        }
+        sendExecutor.initialize();
+        this.firstTokenTimer = Timer.builder("skillpath.tutor.first.token")
+                .description("Time from a tutor question to the first token sent back")
+                .register(meterRegistry);
+        this.droppedStreams = Counter.builder("skillpath.tutor.streams.dropped")
+                .description("Tutor replies cut off because the client read too slowly")
+                .register(meterRegistry);
+        Gauge.builder("skillpath.tutor.streams.open", openStreams, AtomicInteger::get)
+                .description("Tutor replies currently streaming")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    public SseEmitter streamReply(long userId, String text) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        // Earlier turns give the model context; the question itself is stored right away
+        List<TutorMessage> conversation = new ArrayList<>(historyStore.recent(userId, contextMessages));
+        TutorMessage question = new TutorMessage(UUID.randomUUID().toString(), TutorMessage.USER, text,
+                System.currentTimeMillis());
+        historyStore.append(userId, question);
+        conversation.add(question);
+
+        ReplyStream stream = new ReplyStream(userId, emitter);
+        openStreams.incrementAndGet();
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        stream.start(conversation);
+        return emitter;
+    }
+
+    /** A stream that reports the error and ends, for requests rejected before reaching the model. */
+    public SseEmitter errorStream(String message) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        try {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("message", message)));
+        } catch (IOException e) {
+            // Client already gone
+        }
+        emitter.complete();
+        return emitter;
+    }
+
+    private class ReplyStream implements TutorModelClient.ReplyListener, Runnable {
+        private final long userId;
+        private final SseEmitter emitter;
+        private final long startNanos = System.nanoTime();
+        private final StringBuilder reply = new StringBuilder();
+        // Events waiting for the sender; everything below is guarded by this
+        private final ArrayDeque<SseEmitter.SseEventBuilder> outbox = new ArrayDeque<>();
+        private TutorModelClient.StreamHandle handle;
+        private boolean firstToken = true;
+        private boolean finished;
+        // A send task is queued or running
+        private boolean draining;
+        // Complete the emitter once the outbox is sent
+        private boolean ending;
+        // Completed, or the client is gone: no more calls on the emitter
+        private boolean emitterDone;
+
+        ReplyStream(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        synchronized void start(List<TutorMessage> conversation) {
+            handle = modelClient.streamReply(conversation, this);
+            if (finished) {
+                // Ended while the model call was being set up
+                handle.cancel();
+            }
+        }
+
+        @Override
+        public synchronized void onToken(String text) {
+            if (finished) {
+                return;
+            }
+            if (firstToken) {
+                firstToken = false;
+                firstTokenTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+            reply.append(text);
+            if (outbox.size() >= maxQueuedEvents) {
+                // The client reads slower than the model writes; skip what it has not read and tell it why
+                droppedStreams.increment();
+                stop();
+                outbox.clear();
+                enqueue(event("error", Map.of("message", "Error: Connection too slow, reply was cut off!")));
+                end();
+                return;
+            }
+            enqueue(event("token", Map.of("text", text)));
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (finished) {
+                return;
+            }
+            TutorMessage answer = finish();
+            if (answer != null) {
+                enqueue(event("done", answer));
+            } else {
+                enqueue(event("error", Map.of("message", "Error: The tutor had no answer, try rephrasing!")));
+            }
+            end();
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (finished) {
+                return;
+            }
+            logger.warn("Tutor reply failed: {}", error.toString());
+            finish();
+            enqueue(event("error", Map.of("message", "Error: The tutor is unavailable, try again later!")));
+            end();
+        }
+
+        /** Client disconnected or timed out: stop the model and keep what was said so far. */
+        synchronized void close() {
+            stop();
+            outbox.clear();
+            emitterDone = true;
+        }
+
+        /** Sends the queued events on a send pool thread. */
+        @Override
+        public void run() {
+            SseEmitter.SseEventBuilder event;
+            while ((event = nextEvent()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                }
+            }
+        }
+
+        // Null once there is nothing left to send, after completing the emitter if the reply has ended
+        private SseEmitter.SseEventBuilder nextEvent() {
+            synchronized (this) {
+                SseEmitter.SseEventBuilder event = emitterDone ? null : outbox.poll();
+                if (event != null) {
+                    return event;
+                }
+                draining = false;
+                if (!ending || emitterDone) {
+                    return null;
+                }
+                emitterDone = true;
+            }
+            emitter.complete();
+            return null;
+        }
+
+        private void stop() {
+            if (finished) {
+                return;
+            }
+            if (handle != null) {
+                handle.cancel();
+            }
+            finish();
+        }
+
+        private TutorMessage finish() {
+            if (finished) {
+                return null;
+            }
+            finished = true;
+            openStreams.decrementAndGet();
+            if (reply.length() == 0) {
+                return null;
+            }
+            TutorMessage answer = new TutorMessage(UUID.randomUUID().toString(), TutorMessage.MODEL, reply.toString(),
+                    System.currentTimeMillis());
+            historyStore.append(userId, answer);
+            return answer;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            outbox.add(event);
+            drain();
+        }
+
+        private void end() {
+            ending = true;
+            drain();
+        }
+
+        private void drain() {
+            if (draining || emitterDone) {
+                return;
+            }
+            draining = true;
+            try {
+                sendExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                draining = false;
+            }
+        }
+
+        private SseEmitter.SseEventBuilder event(String name, Object data) {
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
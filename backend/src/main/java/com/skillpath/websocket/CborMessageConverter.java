@@ -0,0 +1,24 @@
+package com.skillpath.websocket;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Jackson CBOR converter for STOMP payloads. Only used when a message carries
+ * the {@link PayloadEncoding#CBOR} content type, and never for raw byte[] or
+ * String payloads, which stay with Spring's default converters.
+ */
+public class CborMessageConverter extends MappingJackson2MessageConverter {
+
+    public CborMessageConverter() {
+        super(PayloadEncoding.CBOR.getContentType());
+        setObjectMapper(new CBORMapper());
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz != byte[].class && clazz != String.class;
+    }
+}
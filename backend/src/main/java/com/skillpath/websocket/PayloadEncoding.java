@@ -0,0 +1,40 @@
+package com.skillpath.websocket;
+
+import java.util.Map;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Wire encoding for payloads pushed to a STOMP session. Clients opt in at
+ * CONNECT with an {@code accept-content-type} header; anything unrecognised
+ * gets JSON.
+ *
+ * CBOR frames are labelled {@code application/octet-stream;format=cbor}
+ * because Spring only writes binary WebSocket frames for octet-stream content
+ * types. That also means CBOR is only honoured on the native endpoint, since
+ * SockJS can only carry text.
+ */
+public enum PayloadEncoding {
+    JSON(null),
+    CBOR(new MimeType("application", "octet-stream", Map.of("format", "cbor")));
+
+    public static final String CONNECT_HEADER = "accept-content-type";
+
+    private final MimeType contentType;
+
+    PayloadEncoding(MimeType contentType) {
+        this.contentType = contentType;
+    }
+
+    /** Content type to send with, or null to use the default JSON conversion. */
+    public MimeType getContentType() {
+        return contentType;
+    }
+
+    public static PayloadEncoding fromConnectHeader(String value) {
+        if (value != null && (value.equalsIgnoreCase("application/cbor") || value.equalsIgnoreCase("cbor"))) {
+            return CBOR;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,210 @@
+package com.skillpath.websocket;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Tracks outbound backlog and send latency per WebSocket session and evicts
+ * consumers that fall too far behind.
+ *
+ * Queue depth is the number of messages accepted by the client outbound
+ * channel minus the number actually written to the socket, so it covers both
+ * the channel executor queue and the per-session send buffer. Heartbeats are
+ * left out on both sides: some are written to the socket without passing the
+ * channel, and counting only their sends would pull the depth down. Spring's
+ * {@code ConcurrentWebSocketSessionDecorator} only enforces the send time
+ * limit when the next message arrives; the periodic sweep here also catches
+ * sessions that are stuck with nothing new to send.
+ */
+@Component
+public class SlowConsumerMonitor implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+    private static final Logger logger = LoggerFactory.getLogger(SlowConsumerMonitor.class);
+
+    private final Map<String, SessionSendStats> sessions = new ConcurrentHashMap<>();
+
+    private final Timer sendTimer;
+    private final DistributionSummary queueDepthSummary;
+    private final Counter evictions;
+
+    @Value("${app.wsSendTimeLimitMs:10000}")
+    private long sendTimeLimitMs;
+
+    @Value("${app.wsMaxQueueDepth:1000}")
+    private long maxQueueDepth;
+
+    public SlowConsumerMonitor(MeterRegistry meterRegistry) {
+        this.sendTimer = Timer.builder("skillpath.ws.session.send")
+                .description("Time to write one frame to a WebSocket session")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.queueDepthSummary = DistributionSummary.builder("skillpath.ws.session.queue.depth")
+                .description("Pending outbound messages for a session, sampled on enqueue")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.evictions = Counter.builder("skillpath.ws.session.evictions")
+                .description("Sessions closed for being slow consumers")
+                .register(meterRegistry);
+        Gauge.builder("skillpath.ws.session.queue.depth.largest", this, SlowConsumerMonitor::maxQueueDepth)
+                .description("Largest pending outbound backlog across live sessions")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionSendStats stats = sessionId != null ? sessions.get(sessionId) : null;
+        if (stats != null && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.HEARTBEAT) {
+            long depth = stats.enqueued.incrementAndGet() - stats.sent.get();
+            queueDepthSummary.record(depth);
+            if (depth > maxQueueDepth) {
+                evict(stats, "queue depth " + depth);
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionSendStats stats = new SessionSendStats(session);
+                sessions.put(session.getId(), stats);
+                super.afterConnectionEstablished(new MeteredSession(session, stats));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${app.wsSlowConsumerSweepMs:1000}")
+    public void evictStalledSessions() {
+        long now = System.nanoTime();
+        long limitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        for (SessionSendStats stats : sessions.values()) {
+            long started = stats.sendStartedNanos;
+            if (started != 0 && now - started > limitNanos) {
+                evict(stats, "send blocked for " + TimeUnit.NANOSECONDS.toMillis(now - started) + " ms");
+            }
+        }
+    }
+
+    public long getQueueDepth(String sessionId) {
+        SessionSendStats stats = sessions.get(sessionId);
+        return stats != null ? stats.queueDepth() : 0;
+    }
+
+    public Map<String, SessionSendStats> getSessions() {
+        return Collections.unmodifiableMap(sessions);
+    }
+
+    private double maxQueueDepth() {
+        long max = 0;
+        for (SessionSendStats stats : sessions.values()) {
+            max = Math.max(max, stats.queueDepth());
+        }
+        return max;
+    }
+
+    private void evict(SessionSendStats stats, String reason) {
+        if (!stats.evicted.compareAndSet(false, true)) {
+            return;
+        }
+        evictions.increment();
+        logger.warn("Closing slow WebSocket session {}: {}", stats.session.getId(), reason);
+        try {
+            stats.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            logger.debug("Error closing session {}: {}", stats.session.getId(), e.getMessage());
+        }
+    }
+
+    public static class SessionSendStats {
+        private final WebSocketSession session;
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        private volatile long sendStartedNanos;
+        private volatile long lastSendNanos;
+
+        SessionSendStats(WebSocketSession session) {
+            this.session = session;
+        }
+
+        public long queueDepth() { return Math.max(0, enqueued.get() - sent.get()); }
+        public long getSent() { return sent.get(); }
+        public long getLastSendNanos() { return lastSendNanos; }
+    }
+
+    private class MeteredSession extends WebSocketSessionDecorator {
+        private final SessionSendStats stats;
+
+        MeteredSession(WebSocketSession delegate, SessionSendStats stats) {
+            super(delegate);
+            this.stats = stats;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            stats.sendStartedNanos = start;
+            try {
+                super.sendMessage(message);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats.sendStartedNanos = 0;
+                stats.lastSendNanos = elapsed;
+                if (!isHeartbeat(message)) {
+                    stats.sent.incrementAndGet();
+                }
+                sendTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    // A STOMP heartbeat is a single end-of-line
+    private static boolean isHeartbeat(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return "\n".equals(text.getPayload());
+        }
+        if (message instanceof BinaryMessage binary) {
+            return binary.getPayloadLength() == 1 && binary.getPayload().get(0) == '\n';
+        }
+        return false;
+    }
+}
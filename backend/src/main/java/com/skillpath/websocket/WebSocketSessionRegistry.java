@@ -0,0 +1,240 @@
+package com.skillpath.websocket;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Live view of the STOMP sessions on this node, maintained from connect and
+ * disconnect events. All queries are O(1) map or counter reads so they are
+ * safe to call on every push.
+ *
+ * Publishes a {@link UserPresenceEvent} when a user's first session connects
+ * and when their last session goes away. Events are published inside the
+ * update of the user's entry, so a JOIN and a LEAVE for the same user reach
+ * listeners in the order the entry changed; listeners must not call back into
+ * this registry's connect or disconnect handling.
+ */
+@Component
+public class WebSocketSessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionRegistry.class);
+
+    // Set by the handshake interceptor on the native endpoint
+    public static final String NATIVE_TRANSPORT_ATTRIBUTE = "skillpath.nativeTransport";
+
+    private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+    private final Map<String, UserSessions> sessionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter inboundMessages;
+    private final Counter outboundMessages;
+
+    public WebSocketSessionRegistry(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("skillpath.ws.sessions.live", liveSessions, AtomicInteger::get)
+                .description("Open STOMP sessions on this node")
+                .register(meterRegistry);
+        Gauge.builder("skillpath.ws.users.online", sessionsByUser, Map::size)
+                .description("Distinct users with at least one open session on this node")
+                .register(meterRegistry);
+        Gauge.builder("skillpath.ws.sessions.per.user.max", this, WebSocketSessionRegistry::maxSessionsPerUser)
+                .description("Most sessions held by a single user")
+                .register(meterRegistry);
+        this.inboundMessages = Counter.builder("skillpath.ws.messages")
+                .tag("direction", "inbound")
+                .register(meterRegistry);
+        this.outboundMessages = Counter.builder("skillpath.ws.messages")
+                .tag("direction", "outbound")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user == null || sessionId == null) {
+            return;
+        }
+        PayloadEncoding encoding = requestedEncoding(event.getMessage());
+        if (sessions.putIfAbsent(sessionId, new SessionInfo(user.getName(), encoding)) != null) {
+            return;
+        }
+        liveSessions.incrementAndGet();
+        // Counted inside compute, so a concurrent last disconnect cannot remove the entry in between
+        sessionsByUser.compute(user.getName(), (key, userSessions) -> {
+            if (userSessions == null) {
+                userSessions = new UserSessions();
+            }
+            if (encoding != PayloadEncoding.JSON) {
+                userSessions.binary.incrementAndGet();
+            }
+            if (userSessions.total.incrementAndGet() == 1) {
+                publishPresence(key, true);
+            }
+            return userSessions;
+        });
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        // Spring may publish more than one disconnect event per session
+        SessionInfo info = sessions.remove(event.getSessionId());
+        if (info == null) {
+            return;
+        }
+        liveSessions.decrementAndGet();
+        sessionsByUser.computeIfPresent(info.user, (key, userSessions) -> {
+            if (info.encoding != PayloadEncoding.JSON) {
+                userSessions.binary.decrementAndGet();
+            }
+            if (userSessions.total.decrementAndGet() > 0) {
+                return userSessions;
+            }
+            publishPresence(key, false);
+            return null;
+        });
+    }
+
+    // Runs inside compute: a failing listener must not abort the entry's update
+    private void publishPresence(String user, boolean online) {
+        try {
+            eventPublisher.publishEvent(new UserPresenceEvent(user, online));
+        } catch (RuntimeException e) {
+            logger.warn("Presence event for {} failed: {}", user, e.toString());
+        }
+    }
+
+    public boolean isOnline(String user) {
+        return sessionsByUser.containsKey(user);
+    }
+
+    public int getSessionCount(String user) {
+        UserSessions userSessions = sessionsByUser.get(user);
+        return userSessions != null ? userSessions.total.get() : 0;
+    }
+
+    /**
+     * The encoding shared by all of the user's sessions, or null if their
+     * sessions asked for different encodings.
+     */
+    public PayloadEncoding getUserEncoding(String user) {
+        UserSessions userSessions = sessionsByUser.get(user);
+        if (userSessions == null) {
+            return PayloadEncoding.JSON;
+        }
+        int binary = userSessions.binary.get();
+        if (binary == 0) {
+            return PayloadEncoding.JSON;
+        }
+        return binary == userSessions.total.get() ? PayloadEncoding.CBOR : null;
+    }
+
+    public PayloadEncoding getSessionEncoding(String sessionId) {
+        SessionInfo info = sessions.get(sessionId);
+        return info != null ? info.encoding : PayloadEncoding.JSON;
+    }
+
+    public int getLiveSessionCount() {
+        return liveSessions.get();
+    }
+
+    public Set<String> getOnlineUsers() {
+        return Collections.unmodifiableSet(sessionsByUser.keySet());
+    }
+
+    public ChannelInterceptor inboundCounter() {
+        return new MessageCounter(inboundMessages);
+    }
+
+    public ChannelInterceptor outboundCounter() {
+        return new MessageCounter(outboundMessages);
+    }
+
+    private double maxSessionsPerUser() {
+        int max = 0;
+        for (UserSessions userSessions : sessionsByUser.values()) {
+            max = Math.max(max, userSessions.total.get());
+        }
+        return max;
+    }
+
+    private static PayloadEncoding requestedEncoding(Message<?> connectAck) {
+        Message<?> connect = (Message<?>) connectAck.getHeaders().get(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+        if (connect == null) {
+            return PayloadEncoding.JSON;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(connect);
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE))) {
+            return PayloadEncoding.JSON;
+        }
+        return PayloadEncoding.fromConnectHeader(accessor.getFirstNativeHeader(PayloadEncoding.CONNECT_HEADER));
+    }
+
+    private static class SessionInfo {
+        private final String user;
+        private final PayloadEncoding encoding;
+
+        SessionInfo(String user, PayloadEncoding encoding) {
+            this.user = user;
+            this.encoding = encoding;
+        }
+    }
+
+    private static class UserSessions {
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger binary = new AtomicInteger();
+    }
+
+    private static class MessageCounter implements ChannelInterceptor {
+        private final Counter counter;
+
+        MessageCounter(Counter counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                counter.increment();
+            }
+            return message;
+        }
+    }
+
+    public static class UserPresenceEvent {
+        private final String user;
+        private final boolean online;
+
+        public UserPresenceEvent(String user, boolean online) {
+            this.user = user;
+            this.online = online;
+        }
+
+        public String getUser() { return user; }
+        public boolean isOnline() { return online; }
+    }
+}
@@ -0,0 +1,153 @@
+package com.skillpath.websocket.cluster;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.websocket.PayloadEncoding;
+import com.skillpath.websocket.WebSocketSessionRegistry;
+import com.skillpath.websocket.WebSocketSessionRegistry.UserPresenceEvent;
+
+/**
+ * Cluster-aware replacement for {@code SimpMessagingTemplate.convertAndSendToUser}.
+ * Messages for users connected to this node go straight to the local broker;
+ * messages for users connected elsewhere are forwarded only to the nodes that
+ * own their sessions.
+ */
+@Service
+public class ClusterMessagingService {
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ClusterRelay clusterRelay;
+
+    @Autowired
+    private ClusterUserRegistry userRegistry;
+
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
+    @Autowired
+    private SimpUserRegistry simpUserRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.wsClusterHeartbeatMs:5000}")
+    private long heartbeatMs;
+
+    @PostConstruct
+    public void init() {
+        clusterRelay.setListener(this::onRelayMessage);
+        clusterRelay.broadcast(new RelayEnvelope(RelayEnvelope.Type.SYNC, clusterRelay.getNodeId(), null));
+    }
+
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        if (sessionRegistry.isOnline(user)) {
+            deliverLocally(user, destination, payload);
+        }
+
+        var remoteNodes = userRegistry.getRemoteNodes(user);
+        if (remoteNodes.isEmpty()) {
+            return;
+        }
+        JsonNode tree = objectMapper.valueToTree(payload);
+        RelayEnvelope envelope = RelayEnvelope.deliver(clusterRelay.getNodeId(), user, destination, tree);
+        for (String nodeId : remoteNodes) {
+            clusterRelay.send(nodeId, envelope);
+        }
+    }
+
+    /** True if the user has a live session on this node or any other node. */
+    public boolean isUserReachable(String user) {
+        return sessionRegistry.isOnline(user) || !userRegistry.getRemoteNodes(user).isEmpty();
+    }
+
+    @EventListener
+    public void onUserPresence(UserPresenceEvent event) {
+        RelayEnvelope.Type type = event.isOnline() ? RelayEnvelope.Type.JOIN : RelayEnvelope.Type.LEAVE;
+        clusterRelay.broadcast(new RelayEnvelope(type, clusterRelay.getNodeId(), event.getUser()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.wsClusterHeartbeatMs:5000}")
+    public void heartbeat() {
+        clusterRelay.broadcast(new RelayEnvelope(RelayEnvelope.Type.HEARTBEAT, clusterRelay.getNodeId(), null));
+        userRegistry.expireNodes(System.currentTimeMillis() - heartbeatMs * 3);
+    }
+
+    private void onRelayMessage(RelayEnvelope envelope) {
+        String source = envelope.getSourceNode();
+        switch (envelope.getType()) {
+            case DELIVER -> {
+                // The user may have disconnected while the message was in flight
+                if (sessionRegistry.isOnline(envelope.getUser())) {
+                    deliverLocally(envelope.getUser(), envelope.getDestination(), envelope.getPayload());
+                }
+            }
+            case JOIN -> userRegistry.addRemoteUser(source, envelope.getUser());
+            case LEAVE -> userRegistry.removeRemoteUser(source, envelope.getUser());
+            case HEARTBEAT -> {
+                if (userRegistry.touchNode(source)) {
+                    // Expired after missed heartbeats (GC pause, LISTEN reconnect) and forgotten with its
+                    // users, or started before this node: have it announce its users again
+                    clusterRelay.send(source, new RelayEnvelope(RelayEnvelope.Type.SYNC, clusterRelay.getNodeId(), null));
+                }
+            }
+            case SYNC -> {
+                userRegistry.touchNode(source);
+                for (String user : sessionRegistry.getOnlineUsers()) {
+                    clusterRelay.send(source, new RelayEnvelope(RelayEnvelope.Type.JOIN, clusterRelay.getNodeId(), user));
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the payload once per encoding in use by the user's sessions. The
+     * common all-JSON case is a single plain send, exactly as before encodings
+     * were negotiable.
+     */
+    private void deliverLocally(String user, String destination, Object payload) {
+        PayloadEncoding encoding = sessionRegistry.getUserEncoding(user);
+        if (encoding == PayloadEncoding.JSON) {
+            messagingTemplate.convertAndSendToUser(user, destination, payload);
+            return;
+        }
+        if (encoding != null) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(encoding.getContentType());
+            accessor.setLeaveMutable(true);
+            messagingTemplate.convertAndSendToUser(user, destination, payload, accessor.getMessageHeaders());
+            return;
+        }
+        // Mixed encodings: address each session individually
+        SimpUser simpUser = simpUserRegistry.getUser(user);
+        if (simpUser == null) {
+            return;
+        }
+        for (SimpSession session : simpUser.getSessions()) {
+            PayloadEncoding sessionEncoding = sessionRegistry.getSessionEncoding(session.getId());
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(session.getId());
+            if (sessionEncoding.getContentType() != null) {
+                accessor.setContentType(sessionEncoding.getContentType());
+            }
+            accessor.setLeaveMutable(true);
+            messagingTemplate.convertAndSendToUser(user, destination, payload, accessor.getMessageHeaders());
+        }
+    }
+}
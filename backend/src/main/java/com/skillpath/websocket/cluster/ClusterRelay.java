@@ -0,0 +1,21 @@
+package com.skillpath.websocket.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport used to move user-destination messages and presence announcements
+ * between backend nodes. Implementations only deliver envelopes; routing
+ * decisions are made by {@link ClusterMessagingService}.
+ */
+public interface ClusterRelay {
+
+    String getNodeId();
+
+    /** Delivers the envelope to a single node. */
+    void send(String targetNodeId, RelayEnvelope envelope);
+
+    /** Delivers the envelope to every other node in the cluster. */
+    void broadcast(RelayEnvelope envelope);
+
+    void setListener(Consumer<RelayEnvelope> listener);
+}
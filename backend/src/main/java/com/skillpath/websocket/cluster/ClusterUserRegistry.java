@@ -0,0 +1,62 @@
+package com.skillpath.websocket.cluster;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks which other nodes hold live sessions for each user. Sessions on this
+ * node are tracked by {@link com.skillpath.websocket.WebSocketSessionRegistry}.
+ */
+@Component
+public class ClusterUserRegistry {
+
+    private final Map<String, Set<String>> remoteNodesByUser = new ConcurrentHashMap<>();
+    private final Map<String, Long> nodeLastSeen = new ConcurrentHashMap<>();
+
+    public Set<String> getRemoteNodes(String user) {
+        Set<String> nodes = remoteNodesByUser.get(user);
+        return nodes != null ? nodes : Collections.emptySet();
+    }
+
+    public Set<String> getRemoteUsers() {
+        return Collections.unmodifiableSet(remoteNodesByUser.keySet());
+    }
+
+    public void addRemoteUser(String nodeId, String user) {
+        remoteNodesByUser.computeIfAbsent(user, key -> ConcurrentHashMap.newKeySet()).add(nodeId);
+        touchNode(nodeId);
+    }
+
+    public void removeRemoteUser(String nodeId, String user) {
+        remoteNodesByUser.computeIfPresent(user, (key, nodes) -> {
+            nodes.remove(nodeId);
+            return nodes.isEmpty() ? null : nodes;
+        });
+        touchNode(nodeId);
+    }
+
+    /** Records that the node is alive; true if it was unknown, never seen or expired with its users. */
+    public boolean touchNode(String nodeId) {
+        return nodeLastSeen.put(nodeId, System.currentTimeMillis()) == null;
+    }
+
+    /** Forgets every user owned by nodes that have not been heard from since the cutoff. */
+    public void expireNodes(long cutoffMillis) {
+        nodeLastSeen.forEach((nodeId, lastSeen) -> {
+            if (lastSeen < cutoffMillis && nodeLastSeen.remove(nodeId, lastSeen)) {
+                remoteNodesByUser.keySet().forEach(user -> removeRemoteUserSilently(nodeId, user));
+            }
+        });
+    }
+
+    private void removeRemoteUserSilently(String nodeId, String user) {
+        remoteNodesByUser.computeIfPresent(user, (key, nodes) -> {
+            nodes.remove(nodeId);
+            return nodes.isEmpty() ? null : nodes;
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.skillpath.websocket.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process relay. Every instance created in the same JVM joins one shared
+ * cluster, so several application contexts can be wired together in tests
+ * without a database. With a single node it behaves like a plain local broker.
+ */
+public class LoopbackClusterRelay implements ClusterRelay {
+
+    private static final Map<String, LoopbackClusterRelay> NODES = new ConcurrentHashMap<>();
+
+    private final String nodeId;
+    private volatile Consumer<RelayEnvelope> listener = envelope -> {};
+
+    public LoopbackClusterRelay(String nodeId) {
+        this.nodeId = nodeId;
+        NODES.put(nodeId, this);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void send(String targetNodeId, RelayEnvelope envelope) {
+        LoopbackClusterRelay target = NODES.get(targetNodeId);
+        if (target != null) {
+            target.listener.accept(envelope);
+        }
+    }
+
+    @Override
+    public void broadcast(RelayEnvelope envelope) {
+        NODES.forEach((id, node) -> {
+            if (!id.equals(nodeId)) {
+                node.listener.accept(envelope);
+            }
+        });
+    }
+
+    @Override
+    public void setListener(Consumer<RelayEnvelope> listener) {
+        this.listener = listener;
+    }
+
+    public void close() {
+        NODES.remove(nodeId, this);
+    }
+}
@@ -0,0 +1,170 @@
+package com.skillpath.websocket.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Relay built on Postgres LISTEN/NOTIFY. Each node listens on its own channel
+ * plus a shared broadcast channel, so targeted deliveries only wake the node
+ * that owns the user's session.
+ *
+ * The LISTEN connection is opened outside the pool because it is held for the
+ * lifetime of the node. NOTIFY goes through the regular pooled DataSource.
+ */
+public class PostgresNotifyClusterRelay implements ClusterRelay {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresNotifyClusterRelay.class);
+
+    static final String BROADCAST_CHANNEL = "skillpath_ws_broadcast";
+    private static final String NODE_CHANNEL_PREFIX = "skillpath_ws_node_";
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private final String nodeId;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long pollTimeoutMs;
+
+    private volatile Consumer<RelayEnvelope> listener = envelope -> {};
+    private volatile boolean running;
+    private Thread listenThread;
+
+    public PostgresNotifyClusterRelay(String nodeId, DataSource dataSource, ObjectMapper objectMapper,
+                                      String url, String username, String password, long pollTimeoutMs) {
+        this.nodeId = nodeId;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void send(String targetNodeId, RelayEnvelope envelope) {
+        notify(channelFor(targetNodeId), envelope);
+    }
+
+    @Override
+    public void broadcast(RelayEnvelope envelope) {
+        notify(BROADCAST_CHANNEL, envelope);
+    }
+
+    @Override
+    public void setListener(Consumer<RelayEnvelope> listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenThread = new Thread(this::listenLoop, "ws-relay-listen");
+        listenThread.setDaemon(true);
+        listenThread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (listenThread != null) {
+            listenThread.interrupt();
+            listenThread = null;
+        }
+    }
+
+    private void notify(String channel, RelayEnvelope envelope) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            logger.error("Cannot serialize relay envelope: {}", e.getMessage());
+            return;
+        }
+        if (body.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            logger.error("Relay payload for {} exceeds NOTIFY limit, dropping message", envelope.getDestination());
+            return;
+        }
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, channel, body);
+    }
+
+    private void listenLoop() {
+        long backoffMs = 500;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BROADCAST_CHANNEL);
+                    statement.execute("LISTEN " + channelFor(nodeId));
+                }
+                backoffMs = 500;
+                // Peers may have changed while we were disconnected
+                broadcast(new RelayEnvelope(RelayEnvelope.Type.SYNC, nodeId, null));
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Relay LISTEN connection lost, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+    }
+
+    private void dispatch(String body) {
+        try {
+            RelayEnvelope envelope = objectMapper.readValue(body, RelayEnvelope.class);
+            // Broadcasts are echoed back to the sender
+            if (!nodeId.equals(envelope.getSourceNode())) {
+                listener.accept(envelope);
+            }
+        } catch (Exception e) {
+            logger.error("Cannot handle relay envelope: {}", e.getMessage());
+        }
+    }
+
+    static String channelFor(String nodeId) {
+        String sanitized = nodeId.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+        String channel = NODE_CHANNEL_PREFIX + sanitized;
+        // Identifiers are truncated by Postgres at 63 bytes
+        return channel.length() > 63 ? channel.substring(0, 63) : channel;
+    }
+}
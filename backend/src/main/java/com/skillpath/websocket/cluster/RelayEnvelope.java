@@ -0,0 +1,49 @@
+package com.skillpath.websocket.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class RelayEnvelope {
+
+    public enum Type {
+        // Deliver a payload to a user destination owned by the target node
+        DELIVER,
+        // Presence announcements for users with sessions on the source node
+        JOIN,
+        LEAVE,
+        // Sent by a node on (re)start so peers re-announce their users to it
+        SYNC,
+        HEARTBEAT
+    }
+
+    private Type type;
+    private String sourceNode;
+    private String user;
+    private String destination;
+    private JsonNode payload;
+
+    public RelayEnvelope() {}
+
+    public RelayEnvelope(Type type, String sourceNode, String user) {
+        this.type = type;
+        this.sourceNode = sourceNode;
+        this.user = user;
+    }
+
+    public static RelayEnvelope deliver(String sourceNode, String user, String destination, JsonNode payload) {
+        RelayEnvelope envelope = new RelayEnvelope(Type.DELIVER, sourceNode, user);
+        envelope.setDestination(destination);
+        envelope.setPayload(payload);
+        return envelope;
+    }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public String getSourceNode() { return sourceNode; }
+    public void setSourceNode(String sourceNode) { this.sourceNode = sourceNode; }
+    public String getUser() { return user; }
+    public void setUser(String user) { this.user = user; }
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+    public JsonNode getPayload() { return payload; }
+    public void setPayload(JsonNode payload) { this.payload = payload; }
+}
@@ -0,0 +1,32 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+CREATE TABLE users (
+    id                 BIGSERIAL PRIMARY KEY,
+    username           VARCHAR(255),
+    email              VARCHAR(255),
+    password           VARCHAR(255),
+    reset_token        VARCHAR(255),
+    reset_token_expiry TIMESTAMP(6),
+    roadmap_json       TEXT,
+    CONSTRAINT ukr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    roles   VARCHAR(255),
+    CONSTRAINT fkhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE SEQUENCE refreshtoken_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE refreshtoken (
+    id          BIGINT PRIMARY KEY,
+    expiry_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    token       VARCHAR(255) NOT NULL,
+    user_id     BIGINT,
+    CONSTRAINT uk_or156wbneyk8noo4jstv55ii3 UNIQUE (token),
+    CONSTRAINT uk_81otwtvdhcw7y3ipoijtlb1g3 UNIQUE (user_id),
+    CONSTRAINT fka652xrdji49m4isx38pp4p80p FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,11 @@
+-- Roles are an eager element collection, loaded by user_id on every authentication
+CREATE INDEX idx_user_roles_user_id ON user_roles (user_id);
+
+-- UserRepository.findByResetToken; only users mid-reset have a token
+CREATE INDEX idx_users_reset_token ON users (reset_token) WHERE reset_token IS NOT NULL;
+
+-- Case-insensitive email lookups (Spring Data IgnoreCase compares upper() on both sides)
+CREATE INDEX idx_users_email_upper ON users (UPPER(email));
+
+-- Range scans when purging expired refresh tokens
+CREATE INDEX idx_refreshtoken_expiry_date ON refreshtoken (expiry_date);
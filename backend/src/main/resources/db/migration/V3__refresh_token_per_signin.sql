@@ -0,0 +1,5 @@
+-- A refresh token is issued per signin; the one-per-user constraint made a second signin fail
+ALTER TABLE refreshtoken DROP CONSTRAINT uk_81otwtvdhcw7y3ipoijtlb1g3;
+
+-- RefreshTokenRepository.deleteByUser and the foreign key check on user delete
+CREATE INDEX idx_refreshtoken_user_id ON refreshtoken (user_id);
@@ -0,0 +1,15 @@
+-- Roadmaps are now checked on write and may be embedded into responses verbatim.
+-- Clear legacy values that are not valid JSON; the client already discards them.
+CREATE FUNCTION pg_temp.is_json(value text) RETURNS boolean AS $$
+BEGIN
+  PERFORM value::json;
+  RETURN true;
+EXCEPTION WHEN others THEN
+  RETURN false;
+END;
+$$ LANGUAGE plpgsql;
+
+UPDATE users SET roadmap_json = NULL WHERE roadmap_json IS NOT NULL AND NOT pg_temp.is_json(roadmap_json);
+
+-- Temporary functions live as long as the connection, and Flyway runs every pending migration on one
+DROP FUNCTION pg_temp.is_json(text);
@@ -0,0 +1,14 @@
+-- Revoked access tokens, kept until the tokens would have expired anyway.
+-- A row revokes either one token (jti) or every token of a user issued before issued_before_ms.
+CREATE TABLE token_revocations (
+    id               BIGSERIAL PRIMARY KEY,
+    jti              VARCHAR(64),
+    username         VARCHAR(255),
+    issued_before_ms BIGINT,
+    expires_at_ms    BIGINT NOT NULL,
+    created_at       TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Polling for revocations made on other nodes, and the expiry purge
+CREATE INDEX idx_token_revocations_created_at ON token_revocations (created_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations (expires_at_ms);
@@ -0,0 +1,12 @@
+-- AI tutor conversations, written in batches by TutorHistoryStore
+CREATE TABLE tutor_messages (
+    id            BIGSERIAL PRIMARY KEY,
+    message_id    VARCHAR(36) NOT NULL,
+    user_id       BIGINT NOT NULL REFERENCES users (id),
+    role          VARCHAR(16) NOT NULL,
+    text          TEXT NOT NULL,
+    created_at_ms BIGINT NOT NULL
+);
+
+-- A user's latest messages, newest first
+CREATE INDEX idx_tutor_messages_user_id ON tutor_messages (user_id, id);
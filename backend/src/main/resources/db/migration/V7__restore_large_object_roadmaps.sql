@@ -0,0 +1,34 @@
+-- While roadmap_json was mapped with @Lob, the driver stored each roadmap as a large object
+-- and wrote its OID into the TEXT column. Those rows read back as a number, which V4 kept
+-- because a number is valid JSON. Copy the roadmaps back into the column and free the objects.
+CREATE TEMPORARY TABLE lob_roadmaps AS
+SELECT u.id, m.oid AS lo
+FROM users u
+JOIN pg_largeobject_metadata m ON m.oid::text = btrim(u.roadmap_json)
+WHERE u.roadmap_json ~ '^\s*[0-9]+\s*$';
+
+UPDATE users u
+SET roadmap_json = convert_from(lo_get(l.lo), 'UTF8')
+FROM lob_roadmaps l
+WHERE u.id = l.id;
+
+SELECT lo_unlink(lo) FROM (SELECT DISTINCT lo FROM lob_roadmaps) AS objects;
+
+-- A number that names no large object is not a roadmap either, and neither is restored
+-- content that is not valid JSON (V4's rule)
+CREATE FUNCTION pg_temp.is_json(value text) RETURNS boolean AS $$
+BEGIN
+  PERFORM value::json;
+  RETURN true;
+EXCEPTION WHEN others THEN
+  RETURN false;
+END;
+$$ LANGUAGE plpgsql;
+
+UPDATE users SET roadmap_json = NULL
+WHERE roadmap_json ~ '^\s*[0-9]+\s*$'
+   OR (id IN (SELECT id FROM lob_roadmaps) AND NOT pg_temp.is_json(roadmap_json));
+
+DROP TABLE lob_roadmaps;
+
+DROP FUNCTION pg_temp.is_json(text);
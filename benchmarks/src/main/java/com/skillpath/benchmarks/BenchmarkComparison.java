@@ -0,0 +1,62 @@
+package com.skillpath.benchmarks;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (for example from two commits) and
+ * prints the relative change of every benchmark present in both. Exits with
+ * status 1 if any score regressed by more than the threshold, so it can gate
+ * a CI job.
+ *
+ * Usage: BenchmarkComparison baseline.json candidate.json [thresholdPercent]
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison baseline.json candidate.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(new File(args[0])));
+        Map<String, JsonNode> candidate = index(mapper.readTree(new File(args[1])));
+
+        boolean regressed = false;
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            double change = (newScore - oldScore) / oldScore * 100.0;
+            // Throughput modes are better when higher, time modes when lower
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double worsening = higherIsBetter ? -change : change;
+            String flag = worsening > threshold ? "  REGRESSION" : "";
+            regressed |= worsening > threshold;
+            System.out.printf("%-90s %12.3f -> %12.3f %-8s %+7.1f%%%s%n",
+                    entry.getKey(), oldScore, newScore, unit, change, flag);
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,73 @@
+package com.skillpath.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.skillpath.security.SecurityEvents;
+import com.skillpath.security.jwt.JwtUtils;
+import com.skillpath.security.jwt.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Token issue and verification, as run on every signin, refresh, authenticated
+ * request and STOMP CONNECT.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private String expiredToken;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Nothing is revoked and the data source is never opened, as on a node with no revocations
+        TokenRevocationList revocationList = new TokenRevocationList(new SimpleDriverDataSource(), meterRegistry,
+                86400000, 60000, 5000);
+        jwtUtils = new JwtUtils(new SecurityEvents(meterRegistry), revocationList);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "SkillPathSecretKeyThatShouldBeVeryLongAndSecureInProduction");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        token = jwtUtils.generateTokenFromUsername("learner", List.of("ROLE_USER"));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", -60000);
+        expiredToken = jwtUtils.generateTokenFromUsername("learner", List.of("ROLE_USER"));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+    }
+
+    @Benchmark
+    public String generateTokenFromUsername() {
+        return jwtUtils.generateTokenFromUsername("learner");
+    }
+
+    @Benchmark
+    public String generateTokenWithRoles() {
+        return jwtUtils.generateTokenFromUsername("learner", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    /** The rejection path, including the security event count and rate-limited log line. */
+    @Benchmark
+    public boolean validateExpiredToken() {
+        return jwtUtils.validateJwtToken(expiredToken);
+    }
+
+    @Benchmark
+    public Claims parseVerifiedClaims() {
+        return jwtUtils.parseVerifiedClaims(token);
+    }
+}
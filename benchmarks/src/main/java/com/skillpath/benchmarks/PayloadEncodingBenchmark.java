@@ -0,0 +1,78 @@
+package com.skillpath.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+
+import com.skillpath.websocket.CborMessageConverter;
+import com.skillpath.websocket.PayloadEncoding;
+
+/**
+ * Cost and size of one metrics push frame, from payload conversion through
+ * STOMP encoding, for the default JSON path and the negotiated CBOR path.
+ * The {@code frameBytes} and {@code frames} counters in the results are
+ * totals; their ratio is the encoded size of one frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    private final MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter();
+    private final CborMessageConverter cborConverter = new CborMessageConverter();
+    private final StompEncoder encoder = new StompEncoder();
+    private Map<String, Object> payload;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class FrameSize {
+        public long frameBytes;
+        public long frames;
+    }
+
+    @Setup
+    public void setup() {
+        payload = Map.of("xp", 12500, "streak", 13);
+    }
+
+    @Benchmark
+    public byte[] json(FrameSize size) {
+        return encode(jsonConverter, null, size);
+    }
+
+    @Benchmark
+    public byte[] cbor(FrameSize size) {
+        return encode(cborConverter, PayloadEncoding.CBOR, size);
+    }
+
+    private byte[] encode(MappingJackson2MessageConverter converter, PayloadEncoding encoding, FrameSize size) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setHeader(StompHeaderAccessor.MESSAGE_TYPE_HEADER, SimpMessageType.MESSAGE);
+        accessor.setDestination("/user/queue/metrics");
+        accessor.setSubscriptionId("sub-0");
+        accessor.setMessageId("1");
+        if (encoding != null) {
+            accessor.setContentType(encoding.getContentType());
+        }
+        accessor.setLeaveMutable(true);
+        MessageHeaders headers = accessor.getMessageHeaders();
+        Message<?> message = converter.toMessage(payload, headers);
+        // Copies content-type into the native headers, as StompSubProtocolHandler does before sending
+        MessageHeaders stompHeaders = StompHeaderAccessor.wrap(message).getMessageHeaders();
+        byte[] frame = encoder.encode(stompHeaders, (byte[]) message.getPayload());
+        size.frameBytes += frame.length;
+        size.frames++;
+        return frame;
+    }
+}
@@ -0,0 +1,72 @@
+package com.skillpath.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.controller.UserController.RoadmapDto;
+import com.skillpath.controller.UserController.RoadmapNodeDto;
+
+/**
+ * The parse and re-serialize pair in UserController.completeRoadmapNode.
+ * Generated roadmaps have around 10 nodes; 200 and 2000 cover imported or
+ * hand-edited plans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoadmapJsonBenchmark {
+
+    @Param({ "10", "200", "2000" })
+    public int nodeCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RoadmapDto roadmap;
+    private String json;
+
+    @Setup
+    public void setup() throws Exception {
+        roadmap = roadmap(nodeCount);
+        json = objectMapper.writeValueAsString(roadmap);
+    }
+
+    @Benchmark
+    public RoadmapDto parse() throws Exception {
+        return objectMapper.readValue(json, RoadmapDto.class);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(roadmap);
+    }
+
+    @Benchmark
+    public String roundTrip() throws Exception {
+        return objectMapper.writeValueAsString(objectMapper.readValue(json, RoadmapDto.class));
+    }
+
+    static RoadmapDto roadmap(int nodeCount) {
+        List<RoadmapNodeDto> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            RoadmapNodeDto node = new RoadmapNodeDto();
+            node.setId("node-" + i);
+            node.setTitle("Module " + i + ": Building production services");
+            node.setDescription("Learn the concepts, practise with exercises and finish with a small project that ties the topics together.");
+            node.setEstimatedHours(4 + i % 12);
+            node.setStatus(i == 0 ? "active" : "locked");
+            node.setTopics(List.of("java", "spring boot", "topic-" + (i % 50)));
+            nodes.add(node);
+        }
+        RoadmapDto roadmap = new RoadmapDto();
+        roadmap.setTitle("Backend Engineer");
+        roadmap.setDescription("A path from fundamentals to production backend engineering.");
+        roadmap.setNodes(nodes);
+        return roadmap;
+    }
+}
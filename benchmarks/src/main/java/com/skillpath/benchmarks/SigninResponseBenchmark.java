@@ -0,0 +1,69 @@
+package com.skillpath.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillpath.controller.AuthController.JwtResponse;
+import com.skillpath.controller.RoadmapFormat;
+
+/**
+ * The signin response for each {@link RoadmapFormat}: writing it on the server
+ * and reading it on the client, which for {@code STRING} means parsing the
+ * response and then the roadmap string inside it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigninResponseBenchmark {
+
+    @Param({ "10", "200" })
+    public int nodeCount;
+
+    @Param({ "STRING", "RAW", "NONE" })
+    public RoadmapFormat format;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String stored;
+    private byte[] body;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+        public long responseBytes;
+        public long responses;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        stored = objectMapper.writeValueAsString(RoadmapJsonBenchmark.roadmap(nodeCount));
+        body = objectMapper.writeValueAsBytes(response());
+    }
+
+    private JwtResponse response() {
+        String roadmapJson = format.needsRoadmap() ? stored : null;
+        return new JwtResponse("eyJhbGciOiJIUzI1NiJ9.token", "2f1c7e0a-refresh", 42L, "learner", "learner@example.com",
+                List.of("ROLE_USER"), format.stringValue(roadmapJson), format.rawValue(roadmapJson));
+    }
+
+    @Benchmark
+    public byte[] serialize(ResponseSize size) throws Exception {
+        byte[] bytes = objectMapper.writeValueAsBytes(response());
+        size.responseBytes += bytes.length;
+        size.responses++;
+        return bytes;
+    }
+
+    @Benchmark
+    public JsonNode clientParse() throws Exception {
+        JsonNode tree = objectMapper.readTree(body);
+        JsonNode roadmapJson = tree.get("roadmapJson");
+        return roadmapJson != null ? objectMapper.readTree(roadmapJson.asText()) : tree.get("roadmap");
+    }
+}
@@ -0,0 +1,83 @@
+package com.skillpath.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.skillpath.service.TopicIndexService;
+import com.skillpath.service.TopicIndexService.LearnerPage;
+import com.skillpath.service.TopicIndexService.TopicSummary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Topic search against an index filled through {@code roadmapSaved}, the
+ * same path roadmap writes take, so no database is needed. Every learner
+ * has "React" and three of 2000 numbered topics, so "React" is the
+ * worst-case posting list and "topic 1" matches 111 topics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicIndexBenchmark {
+
+    private static final int TOPICS = 2000;
+
+    @Param({ "10000", "100000" })
+    public int learners;
+
+    private TopicIndexService service;
+
+    @Setup
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+        service = new TopicIndexService(dataSource, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+        for (int id = 1; id <= learners; id++) {
+            service.roadmapSaved(id, "learner" + id, roadmap(id, false));
+        }
+    }
+
+    static String roadmap(int id, boolean advanced) {
+        String first = "Topic " + id % TOPICS;
+        String second = "Topic " + (id * 7) % TOPICS;
+        String third = "Topic " + (id * 13) % TOPICS;
+        return "{\"title\":\"T\",\"nodes\":["
+                + "{\"id\":\"a\",\"status\":\"" + (advanced ? "completed" : "active") + "\",\"topics\":[\"React\",\"" + first + "\"]},"
+                + "{\"id\":\"b\",\"status\":\"" + (advanced ? "active" : "locked") + "\",\"topics\":[\"" + second + "\"]},"
+                + "{\"id\":\"c\",\"status\":\"locked\",\"topics\":[\"" + third + "\"]}]}";
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        boolean advanced;
+    }
+
+    @Benchmark
+    public List<TopicSummary> completePrefix() {
+        return service.complete("topic 1", 10);
+    }
+
+    @Benchmark
+    public LearnerPage activeLearnersPage(Cursor cursor) {
+        int after = cursor.next++ * 50 % learners;
+        return service.learners("react", true, after, 50);
+    }
+
+    // Completing a node: the user leaves "React" as active topic, or comes back to it
+    @Benchmark
+    public void roadmapSaved(Cursor cursor) {
+        int id = cursor.next++ % learners + 1;
+        if (id == 1) {
+            cursor.advanced = !cursor.advanced;
+        }
+        service.roadmapSaved(id, "learner" + id, roadmap(id, cursor.advanced));
+    }
+}
@@ -0,0 +1,33 @@
+package com.skillpath.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.skillpath.model.User;
+import com.skillpath.security.services.UserDetailsImpl;
+
+/** Principal construction done on every filter-authenticated request. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        user = new User("learner", "learner@skillpath.com", "$2a$10$abcdefghijklmnopqrstuv");
+        user.setId(42L);
+        user.setRoles(Set.of("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public UserDetailsImpl build() {
+        return UserDetailsImpl.build(user);
+    }
+}
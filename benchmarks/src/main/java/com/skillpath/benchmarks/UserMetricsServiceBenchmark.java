@@ -0,0 +1,80 @@
+package com.skillpath.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.skillpath.model.User;
+import com.skillpath.repository.UserRepository;
+import com.skillpath.service.UserMetricsService;
+import com.skillpath.websocket.cluster.ClusterMessagingService;
+
+/**
+ * The XP award path under contention, with the repository and messaging
+ * replaced by in-memory stubs so only the service's own work is measured.
+ * With one user every thread hits the same map entries; with 10000 they
+ * mostly do not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class UserMetricsServiceBenchmark {
+
+    @Param({ "1", "10000" })
+    public int users;
+
+    private UserMetricsService service;
+    private String[] emails;
+
+    @Setup
+    public void setup() {
+        emails = new String[users];
+        for (int i = 0; i < users; i++) {
+            emails[i] = "learner" + i + "@skillpath.com";
+        }
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return Optional.of(new User("learner", (String) args[0], "hash"));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        service = new UserMetricsService();
+        ReflectionTestUtils.setField(service, "userRepository", repository);
+        ReflectionTestUtils.setField(service, "messagingService", new CountingMessagingService());
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void awardXpAndIncrementStreak(Cursor cursor) {
+        String email = emails[cursor.next++ % emails.length];
+        service.awardXpAndIncrementStreak(email);
+    }
+
+    static class CountingMessagingService extends ClusterMessagingService {
+        private final LongAdder sent = new LongAdder();
+
+        @Override
+        public boolean isUserReachable(String user) {
+            return true;
+        }
+
+        @Override
+        public void convertAndSendToUser(String user, String destination, Object payload) {
+            sent.increment();
+        }
+    }
+}
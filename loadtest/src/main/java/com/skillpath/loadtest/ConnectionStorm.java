@@ -0,0 +1,55 @@
+package com.skillpath.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * Opens many STOMP sessions at the same instant, as after a node restart or
+ * a network blip when every client reconnects at once. Each connect is
+ * measured from the storm start, so the tail shows how long the last client
+ * waited for CONNECTED.
+ */
+public class ConnectionStorm {
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final WebSocketStompClient stompClient;
+    private final StepStats stats;
+
+    public ConnectionStorm(LoadTestOptions options, ApiClient api, WebSocketStompClient stompClient, StepStats stats) {
+        this.options = options;
+        this.api = api;
+        this.stompClient = stompClient;
+        this.stats = stats;
+    }
+
+    void run(ExecutorService executor, String email) throws Exception {
+        api.post("/api/auth/signup", Map.of("username", email, "email", email, "password", options.password), null);
+        String token = api.post("/api/auth/signin", Map.of("email", email, "password", options.password), null)
+                .path("token").asText();
+
+        ConcurrentLinkedQueue<StompSession> sessions = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> connects = new ArrayList<>(options.stormConnections);
+        long stormStart = System.nanoTime();
+        for (int i = 0; i < options.stormConnections; i++) {
+            connects.add(CompletableFuture.runAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    sessions.add(MetricsSubscription.connect(stompClient, options.webSocketUrl(), token, options.pushTimeoutMs));
+                    stats.record("storm.connect", stormStart, start, System.nanoTime());
+                } catch (Exception e) {
+                    stats.recordError("storm.connect");
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(connects.toArray(CompletableFuture[]::new)).join();
+        sessions.forEach(StompSession::disconnect);
+    }
+}
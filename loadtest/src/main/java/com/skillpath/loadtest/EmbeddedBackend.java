@@ -0,0 +1,54 @@
+package com.skillpath.loadtest;
+
+import java.io.IOException;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.skillpath.SkillPathApplication;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Starts a throwaway PostgreSQL and the application in this JVM, for runs
+ * without a database or a deployed backend. The generator and the server
+ * share the CPU, so use it for smoke runs and relative comparisons rather
+ * than capacity numbers.
+ */
+public class EmbeddedBackend implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedBackend(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static EmbeddedBackend start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try {
+            // Passed as arguments so they override application.properties
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SkillPathApplication.class).run(
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres");
+            return new EmbeddedBackend(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
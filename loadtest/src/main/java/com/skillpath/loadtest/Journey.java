@@ -0,0 +1,176 @@
+package com.skillpath.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One user's session: signup, signin, STOMP subscribe, roadmap save, node
+ * completions and activities, refreshing the access token every few calls.
+ * Every step has a scheduled start, {@code think-ms} after the previous
+ * step's scheduled start; a step that starts late because an earlier one was
+ * slow is charged for the wait.
+ */
+public class Journey implements Runnable {
+
+    private static final int MAX_LOGGED_ERRORS = 10;
+    private static final AtomicInteger loggedErrors = new AtomicInteger();
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final WebSocketStompClient stompClient;
+    private final StepStats stats;
+    private final String email;
+    private final long thinkNanos;
+
+    private long nextStart;
+    private String accessToken;
+    private String refreshToken;
+    private int callsSinceRefresh;
+
+    public Journey(LoadTestOptions options, ApiClient api, WebSocketStompClient stompClient, StepStats stats,
+            long scheduledStart, String email) {
+        this.options = options;
+        this.api = api;
+        this.stompClient = stompClient;
+        this.stats = stats;
+        this.email = email;
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(options.thinkMs);
+        this.nextStart = scheduledStart;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // The principal name is the username, and the node and activity endpoints look it up by email
+            step("signup", () -> api.post("/api/auth/signup",
+                    Map.of("username", email, "email", email, "password", options.password), null));
+            JsonNode signin = step("signin", () -> api.post("/api/auth/signin",
+                    Map.of("email", email, "password", options.password), null));
+            accessToken = signin.path("token").asText();
+            refreshToken = signin.path("refreshToken").asText();
+            long userId = signin.path("id").asLong();
+
+            MetricsSubscription subscription = options.stomp
+                    ? step("stomp.connect", () -> MetricsSubscription.open(stompClient, options.webSocketUrl(), accessToken, options.pushTimeoutMs))
+                    : null;
+            try {
+                String roadmapJson = api.toJson(roadmap(options.roadmapNodes));
+                authenticatedStep("roadmap.save", () -> api.put("/api/users/" + userId + "/roadmap",
+                        Map.of("roadmapJson", roadmapJson), accessToken));
+                for (int i = 0; i < options.nodeCompletions; i++) {
+                    String path = "/api/users/roadmap/nodes/node-" + i + "/complete";
+                    authenticatedStep("node.complete", () -> api.post(path, null, accessToken));
+                }
+                for (int i = 0; i < options.activities; i++) {
+                    completeActivity(subscription);
+                }
+            } finally {
+                if (subscription != null) {
+                    subscription.close();
+                }
+            }
+        } catch (StepFailedException e) {
+            // Already counted against the step; later steps depend on it
+        }
+    }
+
+    private void completeActivity(MetricsSubscription subscription) {
+        if (subscription != null) {
+            subscription.clear();
+        }
+        refreshIfDue();
+        long scheduled = nextStart;
+        long[] sent = new long[1];
+        step("activity.complete", () -> {
+            sent[0] = System.nanoTime();
+            return api.post("/api/users/complete-activity", null, accessToken);
+        });
+        if (subscription == null) {
+            return;
+        }
+        try {
+            long arrival = subscription.awaitPush(options.pushTimeoutMs);
+            if (arrival < 0) {
+                stats.recordError("push.metrics");
+                logError("push.metrics", "no frame within " + options.pushTimeoutMs + " ms");
+            } else {
+                stats.record("push.metrics", scheduled, sent[0], arrival);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException();
+        }
+    }
+
+    private <T> T authenticatedStep(String name, Callable<T> action) {
+        refreshIfDue();
+        return step(name, action);
+    }
+
+    private void refreshIfDue() {
+        if (options.refreshEvery > 0 && ++callsSinceRefresh > options.refreshEvery) {
+            callsSinceRefresh = 1;
+            JsonNode refreshed = step("refreshtoken", () -> api.post("/api/auth/refreshtoken",
+                    Map.of("refreshToken", refreshToken), null));
+            accessToken = refreshed.path("accessToken").asText();
+        }
+    }
+
+    private <T> T step(String name, Callable<T> action) {
+        long scheduled = nextStart;
+        nextStart += thinkNanos;
+        sleepUntil(scheduled);
+        long start = System.nanoTime();
+        try {
+            T result = action.call();
+            stats.record(name, scheduled, start, System.nanoTime());
+            return result;
+        } catch (Exception e) {
+            stats.recordError(name);
+            logError(name, e.toString());
+            throw new StepFailedException();
+        }
+    }
+
+    static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void logError(String step, String message) {
+        if (loggedErrors.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+            System.err.println(step + " failed: " + message);
+        }
+    }
+
+    static Map<String, Object> roadmap(int nodeCount) {
+        List<Map<String, Object>> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(Map.of(
+                    "id", "node-" + i,
+                    "title", "Module " + i,
+                    "description", "Concepts, exercises and a small project.",
+                    "estimatedHours", 4 + i % 12,
+                    "status", i == 0 ? "active" : "locked",
+                    "topics", List.of("java", "spring boot", "topic-" + i)));
+        }
+        return Map.of("title", "Load test roadmap", "description", "Generated by the load harness.", "nodes", nodes);
+    }
+
+    static class StepFailedException extends RuntimeException {
+        StepFailedException() {
+            super(null, null, false, false);
+        }
+    }
+}
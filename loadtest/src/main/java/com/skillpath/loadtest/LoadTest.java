@@ -0,0 +1,86 @@
+package com.skillpath.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * Open-loop load generator. Journeys start on a fixed schedule of
+ * {@code rate} per second whether or not earlier ones have finished, so a
+ * slow server shows up as latency rather than as a lower request rate.
+ *
+ * Usage: java -jar loadtest.jar [--target=http://host:8080 | --embedded] [--rate=5] [--duration=60] ...
+ * or java -jar loadtest.jar startup ... to time backend startup, see {@link StartupTime}.
+ */
+public class LoadTest {
+
+    private final LoadTestOptions options;
+    private final StepStats stats = new StepStats();
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("startup")) {
+            StartupTime.main(Arrays.copyOfRange(args, 1, args.length));
+            System.exit(0);
+        }
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (EmbeddedBackend backend = options.embedded ? EmbeddedBackend.start() : null) {
+            if (backend != null) {
+                options.target = backend.baseUrl();
+            }
+            new LoadTest(options).run();
+        }
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        ApiClient api = new ApiClient(options.target);
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+
+        AtomicLong threadIds = new AtomicLong();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "journey-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        if (options.stormConnections > 0) {
+            System.out.printf("Connection storm: %d STOMP sessions against %s%n", options.stormConnections, options.webSocketUrl());
+            StepStats stormStats = new StepStats();
+            long stormBegin = System.nanoTime();
+            new ConnectionStorm(options, api, stompClient, stormStats).run(executor, "storm-" + runId + "@loadtest.local");
+            stormStats.print(System.out, (System.nanoTime() - stormBegin) / 1e9);
+            System.out.println();
+        }
+
+        System.out.printf("Journeys: %.1f/s for %ds against %s%n", options.rate, options.durationSeconds, options.target);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+        long durationNanos = TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        long begin = System.nanoTime();
+        int started = 0;
+        for (long offset = 0; offset < durationNanos; offset += intervalNanos) {
+            long scheduled = begin + offset;
+            Journey.sleepUntil(scheduled);
+            String email = "lt-" + runId + "-" + started + "@loadtest.local";
+            executor.execute(new Journey(options, api, stompClient, stats, scheduled, email));
+            started++;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(Math.max(60, options.durationSeconds), TimeUnit.SECONDS)) {
+            System.out.println("Some journeys were still running when the grace period ended");
+        }
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("%n%d journeys in %.1fs%n%n", started, elapsedSeconds);
+        stats.print(System.out, elapsedSeconds);
+    }
+}
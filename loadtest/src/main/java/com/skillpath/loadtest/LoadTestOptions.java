@@ -0,0 +1,66 @@
+package com.skillpath.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Unknown names are
+ * rejected so a typo does not silently run the defaults.
+ */
+public class LoadTestOptions {
+
+    String target = "http://localhost:8080";
+    boolean embedded = false;
+    double rate = 5.0;
+    int durationSeconds = 60;
+    long thinkMs = 250;
+    int roadmapNodes = 10;
+    int nodeCompletions = 3;
+    int activities = 5;
+    int refreshEvery = 4;
+    boolean stomp = true;
+    long pushTimeoutMs = 5000;
+    int stormConnections = 0;
+    String password = "loadtest-password";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "embedded" -> options.embedded = Boolean.parseBoolean(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "think-ms" -> options.thinkMs = Long.parseLong(value);
+                case "roadmap-nodes" -> options.roadmapNodes = Integer.parseInt(value);
+                case "node-completions" -> options.nodeCompletions = Integer.parseInt(value);
+                case "activities" -> options.activities = Integer.parseInt(value);
+                case "refresh-every" -> options.refreshEvery = Integer.parseInt(value);
+                case "stomp" -> options.stomp = Boolean.parseBoolean(value);
+                case "push-timeout-ms" -> options.pushTimeoutMs = Long.parseLong(value);
+                case "storm" -> options.stormConnections = Integer.parseInt(value);
+                case "password" -> options.password = value;
+                default -> throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        options.nodeCompletions = Math.min(options.nodeCompletions, options.roadmapNodes);
+        return options;
+    }
+
+    String webSocketUrl() {
+        return target.replaceFirst("^http", "ws") + "/ws-native";
+    }
+}
@@ -0,0 +1,78 @@
+package com.skillpath.loadtest;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * A STOMP session subscribed to {@code /user/queue/metrics}, recording the
+ * arrival time of every pushed frame.
+ */
+public class MetricsSubscription implements AutoCloseable {
+
+    static final String DESTINATION = "/user/queue/metrics";
+
+    private final StompSession session;
+    private final BlockingQueue<Long> arrivals = new LinkedBlockingQueue<>();
+
+    private MetricsSubscription(StompSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Connects and subscribes. The simple broker does not send RECEIPT frames,
+     * so this returns once CONNECTED arrives; journeys run several HTTP steps
+     * before the first push, which leaves the SUBSCRIBE ample time to land.
+     */
+    static MetricsSubscription open(WebSocketStompClient client, String url, String token, long timeoutMs) throws Exception {
+        StompSession session = connect(client, url, token, timeoutMs);
+        MetricsSubscription subscription = new MetricsSubscription(session);
+        session.subscribe(DESTINATION, subscription.new ArrivalHandler());
+        return subscription;
+    }
+
+    static StompSession connect(WebSocketStompClient client, String url, String token, long timeoutMs) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+        return client.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Discards pushes that arrived before the request being measured. */
+    void clear() {
+        arrivals.clear();
+    }
+
+    /** Arrival time of the next push in {@link System#nanoTime()} terms, or -1 on timeout. */
+    long awaitPush(long timeoutMs) throws InterruptedException {
+        Long arrival = arrivals.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        return arrival == null ? -1 : arrival;
+    }
+
+    @Override
+    public void close() {
+        if (session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private class ArrivalHandler implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            arrivals.add(System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.skillpath.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the backend with the given command several times and reports how
+ * long each start took until the first API response and until the readiness
+ * probe reported UP.
+ *
+ * Usage: java -jar loadtest.jar startup [--runs=3] [--target=http://localhost:8080] -- java -jar backend.jar ...
+ */
+public class StartupTime {
+
+    private static final long POLL_MILLIS = 20;
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(3);
+
+    private final String target;
+    private final List<String> command;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    StartupTime(String target, List<String> command) {
+        this.target = target;
+        this.command = command;
+    }
+
+    static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Usage: startup [--runs=3] [--target=http://localhost:8080] -- <command>");
+        }
+        int runs = 3;
+        String target = "http://localhost:8080";
+        for (String arg : Arrays.copyOfRange(args, 0, separator)) {
+            if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(arg.substring("--runs=".length()));
+            } else if (arg.startsWith("--target=")) {
+                target = arg.substring("--target=".length());
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+
+        StartupTime startupTime = new StartupTime(target, command);
+        long[] firstResponse = new long[runs];
+        long[] ready = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long[] result = startupTime.measure();
+            firstResponse[run] = result[0];
+            ready[run] = result[1];
+            System.out.printf("run %d: first API response %d ms, ready %d ms%n", run + 1, result[0], result[1]);
+        }
+        Arrays.sort(firstResponse);
+        Arrays.sort(ready);
+        System.out.printf("median: first API response %d ms, ready %d ms%n", firstResponse[runs / 2], ready[runs / 2]);
+    }
+
+    /** Milliseconds from launch to the first API response and to readiness UP. */
+    long[] measure() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(new ArrayList<>(command))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long firstResponse = -1;
+            long ready = -1;
+            while (ready < 0) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend exited with status " + process.exitValue());
+                }
+                if (elapsedMillis(start) > TIMEOUT_MILLIS) {
+                    throw new IllegalStateException("Backend not ready after " + TIMEOUT_MILLIS + " ms");
+                }
+                // Wrong credentials: any 4xx means the API is answering
+                if (firstResponse < 0 && status(HttpRequest.newBuilder(URI.create(target + "/api/auth/signin"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"startup-probe\",\"password\":\"-\"}"))) > 0) {
+                    firstResponse = elapsedMillis(start);
+                }
+                if (firstResponse >= 0 && status(HttpRequest.newBuilder(URI.create(target + "/readyz")).GET()) == 200) {
+                    ready = elapsedMillis(start);
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            return new long[] { firstResponse, ready };
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private int status(HttpRequest.Builder request) throws InterruptedException {
+        try {
+            return httpClient.send(request.timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,65 @@
+package com.skillpath.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms per journey step. Response time is measured from when
+ * the step was scheduled to start, service time from when it actually
+ * started; the gap between the two is the queueing that a closed-loop
+ * generator would leave out (coordinated omission).
+ */
+public class StepStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Step> steps = new ConcurrentSkipListMap<>();
+
+    void record(String name, long intendedStart, long actualStart, long end) {
+        Step step = step(name);
+        step.responseTime.recordValue(Math.min(end - intendedStart, MAX_TRACKABLE_NANOS));
+        step.serviceTime.recordValue(Math.min(end - actualStart, MAX_TRACKABLE_NANOS));
+    }
+
+    void recordError(String name) {
+        step(name).errors.incrementAndGet();
+    }
+
+    private Step step(String name) {
+        return steps.computeIfAbsent(name, key -> new Step());
+    }
+
+    void print(PrintStream out, double elapsedSeconds) {
+        out.printf("%-18s %8s %7s %9s %10s %10s %10s %10s %12s%n",
+                "step", "count", "errors", "rate/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "svc p99 ms");
+        steps.forEach((name, step) -> {
+            Histogram response = step.responseTime;
+            out.printf("%-18s %8d %7d %9.1f %10.1f %10.1f %10.1f %10.1f %12.1f%n",
+                    name,
+                    response.getTotalCount(),
+                    step.errors.get(),
+                    response.getTotalCount() / elapsedSeconds,
+                    millis(response.getValueAtPercentile(50)),
+                    millis(response.getValueAtPercentile(99)),
+                    millis(response.getValueAtPercentile(99.9)),
+                    millis(response.getMaxValue()),
+                    millis(step.serviceTime.getValueAtPercentile(99)));
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Step {
+        final Histogram responseTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -2,9 +2,15 @@ import { Client } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 
 const SOCKET_URL = 'http://localhost:8080/ws';
+// Raw WebSocket endpoint; skips SockJS polling and framing when the browser supports it
+const NATIVE_SOCKET_URL = 'ws://localhost:8080/ws-native';
 
 class SocketService {
   private client: Client | null = null;
+  // Set once a native connection closes before STOMP connected (e.g. a proxy that blocks the
+  // upgrade); every later attempt then goes through SockJS
+  private useSockJs = false;
+  private connected = false;
 
   connect(token: string, onMessageReceived: (message: any) => void) {
     if (this.client && this.client.active) {
@@ -13,12 +19,18 @@ class SocketService {
     }
 
     this.client = new Client({
-      webSocketFactory: () => new SockJS(SOCKET_URL),
+      webSocketFactory: () => {
+        this.connected = false;
+        return this.useSockJs || typeof WebSocket === 'undefined'
+          ? new SockJS(SOCKET_URL)
+          : new WebSocket(NATIVE_SOCKET_URL);
+      },
       connectHeaders: {
         Authorization: `Bearer ${token}`,
       },
       onConnect: () => {
         console.log('WebSocket Connected');
+        this.connected = true;
         this.client?.subscribe('/user/queue/metrics', (message) => {
           onMessageReceived(JSON.parse(message.body));
         });
@@ -30,6 +42,12 @@ class SocketService {
        onWebSocketError: (error) => {
         console.error('WebSocket Error', error);
       },
+      onWebSocketClose: () => {
+        if (!this.connected && !this.useSockJs) {
+          console.log('Native WebSocket failed, falling back to SockJS');
+          this.useSockJs = true;
+        }
+      },
       reconnectDelay: 5000,
     });
 